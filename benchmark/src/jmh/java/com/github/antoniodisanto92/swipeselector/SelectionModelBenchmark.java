@@ -0,0 +1,138 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Benchmarks the selection core the way SwipeAdapter drives it: giving it
+ * a new set of items, finding items by their value, and selecting pages
+ * one after another or all over the place.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SelectionModelBenchmark {
+    // Enough random positions that the branch predictor can't learn them.
+    private static final int RANDOM_POSITIONS = 4096;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private Object[] mNumberValues;
+    private Object[] mStringValues;
+    private int[] mRandomPositions;
+
+    private SelectionModel mModel;
+    private SelectionModel mStringModel;
+    private int mNext;
+
+    @Setup
+    public void setUp() {
+        mNumberValues = new Object[size];
+        mStringValues = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            mNumberValues[i] = i;
+            mStringValues[i] = "item-" + i;
+        }
+
+        Random random = new Random(42);
+        mRandomPositions = new int[RANDOM_POSITIONS];
+
+        for (int i = 0; i < RANDOM_POSITIONS; i++) {
+            mRandomPositions[i] = random.nextInt(size);
+        }
+
+        mModel = new SelectionModel();
+        mModel.setItems(index(mNumberValues), size, 0);
+        mStringModel = new SelectionModel();
+        mStringModel.setItems(index(mStringValues), size, 0);
+    }
+
+    @Benchmark
+    public SelectionModel setItems_numbers() {
+        SelectionModel model = new SelectionModel();
+        model.setItems(index(mNumberValues), size, 0);
+        return model;
+    }
+
+    @Benchmark
+    public SelectionModel setItems_strings() {
+        SelectionModel model = new SelectionModel();
+        model.setItems(index(mStringValues), size, 0);
+        return model;
+    }
+
+    @Benchmark
+    public int lookup_id() {
+        return mModel.indexOfId(nextRandom());
+    }
+
+    @Benchmark
+    public int lookup_boxedNumber() {
+        return mModel.indexOfValue(mNumberValues[nextRandom()]);
+    }
+
+    @Benchmark
+    public int lookup_string() {
+        return mStringModel.indexOfValue(mStringValues[nextRandom()]);
+    }
+
+    @Benchmark
+    public int select_sequential() {
+        int position = mModel.hasNext() ? mModel.getPosition() + 1 : 0;
+        return select(position);
+    }
+
+    @Benchmark
+    public int select_random() {
+        int position = nextRandom();
+        mModel.checkPosition(position);
+        return select(position);
+    }
+
+    /**
+     * Everything SwipeAdapter asks the model when the pager lands on a page.
+     */
+    private int select(int position) {
+        mModel.select(position);
+        return mModel.updateLeftButton(position) + mModel.updateRightButton(position);
+    }
+
+    private int nextRandom() {
+        mNext = (mNext + 1) & (RANDOM_POSITIONS - 1);
+        return mRandomPositions[mNext];
+    }
+
+    private static KeyIndex index(Object[] values) {
+        KeyIndex index = new KeyIndex();
+        index.build(values);
+        return index;
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.support.v7.view.ContextThemeWrapper;
+import android.test.InstrumentationTestCase;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Swipes through the same items with both engines, side by side, and logs
+ * what each of them costs. Run it on a real device and compare the
+ * "SwipeSelectorBenchmark" lines in logcat.
+ */
+public class PagerEngineBenchmarkTest extends InstrumentationTestCase {
+    private static final String TAG = "SwipeSelectorBenchmark";
+
+    private static final int ITEM_COUNT = 200;
+    private static final int WIDTH = 1080;
+
+    private SwipeSelector mViewPagerSelector;
+    private SwipeSelector mRecyclerSelector;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Context context = new ContextThemeWrapper(getInstrumentation().getTargetContext(),
+                        R.style.Theme_AppCompat_Light);
+                View root = LayoutInflater.from(context).inflate(R.layout.benchmark_selectors, null);
+
+                mViewPagerSelector = (SwipeSelector) root.findViewById(R.id.benchmark_viewPager);
+                mRecyclerSelector = (SwipeSelector) root.findViewById(R.id.benchmark_recyclerView);
+            }
+        });
+    }
+
+    public void testSwipeThroughAllItems() {
+        final SwipeItem[] items = new SwipeItem[ITEM_COUNT];
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            SwipeIconGravity gravity = SwipeIconGravity.values()[i % SwipeIconGravity.values().length];
+            items[i] = new SwipeItem(i, "Item " + i, i % 2 == 0 ? "Description " + i : null,
+                    (Drawable) null, gravity);
+        }
+
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                // Warm up both, so class loading doesn't count for the first one.
+                swipeThrough(mViewPagerSelector, items);
+                swipeThrough(mRecyclerSelector, items);
+
+                report("viewPager", mViewPagerSelector, swipeThrough(mViewPagerSelector, items));
+                report("recyclerView", mRecyclerSelector, swipeThrough(mRecyclerSelector, items));
+            }
+        });
+    }
+
+    private long swipeThrough(SwipeSelector selector, SwipeItem[] items) {
+        long start = System.nanoTime();
+
+        selector.setItems(items);
+        layout(selector);
+        selector.resetMeasureCounts();
+
+        for (int i = 1; i < items.length; i++) {
+            selector.selectItemAt(i, false);
+            layout(selector);
+        }
+
+        long duration = System.nanoTime() - start;
+        assertSame(items[items.length - 1], selector.getSelectedItem());
+        return duration;
+    }
+
+    private void layout(View view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+
+    private void report(String engine, SwipeSelector selector, long durationNanos) {
+        Log.i(TAG, engine + ": " + ITEM_COUNT + " pages in " + durationNanos / 1000000 + " ms, "
+                + selector.getRecycledPageMissCount() + " pages inflated, "
+                + selector.getRecycledPageHitCount() + " recycled, "
+                + selector.getMeasurePassCount() + " measure passes, "
+                + selector.getPageMeasureCount() + " page measurements");
+    }
+}
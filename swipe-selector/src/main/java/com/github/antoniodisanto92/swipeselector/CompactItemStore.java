@@ -0,0 +1,128 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.util.SparseArray;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Serves the items of a {@link CompactSwipeItems}, creating SwipeItems only
+ * for the positions that are asked for and forgetting them again once the
+ * selection has moved far enough away.
+ */
+class CompactItemStore implements ItemStore {
+    // The pagers keep at most one page on each side of the selected one,
+    // so items further away than this aren't bound to anything. One more
+    // keeps a page that's just being swiped out from getting a new item.
+    private static final int KEEP_DISTANCE = 2;
+
+    private final CompactSwipeItems mItems;
+    private final int mCount;
+    private final SparseArray<SwipeItem> mCreated = new SparseArray<>();
+    private final ValueIndex mIndex = new ValueIndex();
+
+    protected CompactItemStore(CompactSwipeItems items) {
+        mItems = items;
+        mCount = items.size();
+        mIndex.build(items);
+    }
+
+    @Override
+    public int size() {
+        return mCount;
+    }
+
+    @Override
+    public SwipeItem get(int position) {
+        SwipeItem item = mCreated.get(position);
+
+        if (item == null) {
+            item = mItems.newItem(position);
+            mCreated.put(position, item);
+        }
+
+        return item;
+    }
+
+    @Override
+    public int indexOfValue(Object value) {
+        return mIndex.get(value);
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        return mIndex.get(id);
+    }
+
+    @Override
+    public int indexOf(SwipeItem item) {
+        if (item.value != null) {
+            return mIndex.get(item.key());
+        }
+
+        // Items without a value are only known by the SwipeItem
+        // that was created for them.
+        int index = mCreated.indexOfValue(item);
+        return index != -1 ? mCreated.keyAt(index) : -1;
+    }
+
+    /**
+     * Every item counts as loaded, since any of them can be created from
+     * the arrays. The list creates a new SwipeItem whenever one is read and
+     * doesn't hold onto it, so going through all of them for the stable
+     * height doesn't keep them all around.
+     */
+    @Override
+    public List<SwipeItem> getLoadedItems() {
+        final CompactSwipeItems items = mItems;
+        final int count = mCount;
+
+        return new AbstractList<SwipeItem>() {
+            @Override
+            public SwipeItem get(int position) {
+                if (position < 0 || position >= count) {
+                    throw new IndexOutOfBoundsException("No item at " + position + ", there's " + count);
+                }
+
+                return items.newItem(position);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public void onPositionChanged(int position) {
+        for (int i = mCreated.size() - 1; i >= 0; i--) {
+            if (Math.abs(mCreated.keyAt(i) - position) > KEEP_DISTANCE) {
+                mCreated.removeAt(i);
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        mCreated.clear();
+        mIndex.clear();
+    }
+}
@@ -0,0 +1,338 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.support.annotation.DrawableRes;
+import android.support.annotation.StringRes;
+
+import java.util.Arrays;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * The items for a {@link SwipeSelector}, kept in plain arrays instead of
+ * one {@link SwipeItem} object per item. Use this for catalogs with tens of
+ * thousands of items, where the SwipeItems themselves would take up most of
+ * the memory: SwipeItems are only created for the pages that are actually
+ * showing and for {@link SwipeSelector#getSelectedItem()}.
+ * <p/>
+ * Whole number values are stored as primitives and cost nothing extra.
+ * Icons can only be given as drawable resources. Items added after this
+ * has been given to a SwipeSelector won't show up until it's given again.
+ */
+public class CompactSwipeItems {
+    private static final int MIN_CAPACITY = 16;
+
+    // How the value of an item was given, so the same type of Number
+    // comes back out. OBJECT values are kept in mValues as they are.
+    private static final byte OBJECT = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte SHORT = 3;
+    private static final byte BYTE = 4;
+
+    // The three gravities of an item are packed into a single byte,
+    // two bits each, in this order from the lowest bits.
+    private static final int GRAVITY_BITS = 2;
+    private static final int GRAVITY_MASK = 3;
+    private static final SwipeIconGravity[] GRAVITIES = SwipeIconGravity.values();
+
+    private int mSize;
+    private long[] mIds;
+    private byte[] mValueTypes;
+    private byte[] mGravities;
+
+    // These are only allocated once an item needs them, so items that
+    // use String resources don't pay for Strings and the other way around.
+    private Object[] mValues;
+    private String[] mTitles;
+    private String[] mDescriptions;
+    private int[] mTitleRes;
+    private int[] mDescriptionRes;
+    private int[] mIconRes;
+
+    public CompactSwipeItems() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param capacity how many items are going to be added, so the
+     * arrays don't have to grow while adding them.
+     */
+    public CompactSwipeItems(int capacity) {
+        capacity = Math.max(capacity, 1);
+        mIds = new long[capacity];
+        mValueTypes = new byte[capacity];
+        mGravities = new byte[capacity];
+    }
+
+    /**
+     * Adds an item, see {@link SwipeItem#SwipeItem(Object, String, String)}.
+     *
+     * @return this, for adding more items.
+     */
+    public CompactSwipeItems add(Object value, String title, String description) {
+        return add(value, title, description, -1, SwipeIconGravity.DEFAULT);
+    }
+
+    /**
+     * Adds an item, see {@link SwipeItem#SwipeItem(Object, String, String, int)}.
+     *
+     * @return this, for adding more items.
+     */
+    public CompactSwipeItems add(Object value, String title, String description, @DrawableRes int icon) {
+        return add(value, title, description, icon, SwipeIconGravity.DEFAULT);
+    }
+
+    /**
+     * Adds an item, see
+     * {@link SwipeItem#SwipeItem(Object, String, String, int, SwipeIconGravity)}.
+     *
+     * @return this, for adding more items.
+     */
+    public CompactSwipeItems add(Object value, String title, String description,
+                                 @DrawableRes int icon, SwipeIconGravity iconGravity) {
+        int position = append(value, icon, iconGravity);
+
+        if (title != null) {
+            mTitles = ensure(mTitles);
+            mTitles[position] = title;
+        }
+
+        if (description != null) {
+            mDescriptions = ensure(mDescriptions);
+            mDescriptions[position] = description;
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds an item, see {@link SwipeItem#SwipeItem(Object, int, int)}.
+     *
+     * @return this, for adding more items.
+     */
+    public CompactSwipeItems add(Object value, @StringRes int title, @StringRes int description) {
+        return add(value, title, description, -1, SwipeIconGravity.DEFAULT);
+    }
+
+    /**
+     * Adds an item, see {@link SwipeItem#SwipeItem(Object, int, int, int)}.
+     *
+     * @return this, for adding more items.
+     */
+    public CompactSwipeItems add(Object value, @StringRes int title, @StringRes int description,
+                                 @DrawableRes int icon) {
+        return add(value, title, description, icon, SwipeIconGravity.DEFAULT);
+    }
+
+    /**
+     * Adds an item, see
+     * {@link SwipeItem#SwipeItem(Object, int, int, int, SwipeIconGravity)}.
+     *
+     * @return this, for adding more items.
+     */
+    public CompactSwipeItems add(Object value, @StringRes int title, @StringRes int description,
+                                 @DrawableRes int icon, SwipeIconGravity iconGravity) {
+        int position = append(value, icon, iconGravity);
+
+        if (title != -1) {
+            mTitleRes = ensure(mTitleRes);
+            mTitleRes[position] = title;
+        }
+
+        if (description != -1) {
+            mDescriptionRes = ensure(mDescriptionRes);
+            mDescriptionRes[position] = description;
+        }
+
+        return this;
+    }
+
+    /**
+     * @param position the position of the item
+     * @param titleGravity how the title of the item should be aligned.
+     */
+    public void setTitleGravity(int position, SwipeIconGravity titleGravity) {
+        setGravity(position, 1, titleGravity);
+    }
+
+    /**
+     * @param position the position of the item
+     * @param descriptionGravity how the description of the item should be aligned.
+     */
+    public void setDescriptionGravity(int position, SwipeIconGravity descriptionGravity) {
+        setGravity(position, 2, descriptionGravity);
+    }
+
+    /**
+     * @return how many items there are.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @param position the position of the item
+     * @return true if the value of the item is a whole number, see
+     * {@link SwipeItem#hasId()}.
+     */
+    protected boolean hasId(int position) {
+        return mValueTypes[position] != OBJECT;
+    }
+
+    protected long id(int position) {
+        return mIds[position];
+    }
+
+    /**
+     * @param position the position of the item
+     * @return the value of the item, which is only boxed here if it's a
+     * whole number.
+     */
+    protected Object value(int position) {
+        switch (mValueTypes[position]) {
+            case INTEGER:
+                return (int) mIds[position];
+            case LONG:
+                return mIds[position];
+            case SHORT:
+                return (short) mIds[position];
+            case BYTE:
+                return (byte) mIds[position];
+            default:
+                return mValues != null ? mValues[position] : null;
+        }
+    }
+
+    /**
+     * @param position the position of the item
+     * @return a new SwipeItem for the item, which has to be resolved
+     * like any other one.
+     */
+    protected SwipeItem newItem(int position) {
+        SwipeItem item = new SwipeItem();
+        item.value = value(position);
+        item.title = mTitles != null ? mTitles[position] : null;
+        item.description = mDescriptions != null ? mDescriptions[position] : null;
+        item.titleRes = mTitleRes != null ? mTitleRes[position] : -1;
+        item.descriptionRes = mDescriptionRes != null ? mDescriptionRes[position] : -1;
+        item.iconRes = mIconRes != null ? mIconRes[position] : -1;
+        item.iconGravity = getGravity(position, 0);
+        item.titleGravity = getGravity(position, 1);
+        item.descriptionGravity = getGravity(position, 2);
+        return item;
+    }
+
+    private int append(Object value, int icon, SwipeIconGravity iconGravity) {
+        if (mSize == mIds.length) {
+            grow();
+        }
+
+        int position = mSize++;
+
+        if (value instanceof Integer) {
+            mValueTypes[position] = INTEGER;
+        } else if (value instanceof Long) {
+            mValueTypes[position] = LONG;
+        } else if (value instanceof Short) {
+            mValueTypes[position] = SHORT;
+        } else if (value instanceof Byte) {
+            mValueTypes[position] = BYTE;
+        } else if (value != null) {
+            mValues = ensure(mValues);
+            mValues[position] = value;
+        }
+
+        if (mValueTypes[position] != OBJECT) {
+            mIds[position] = ((Number) value).longValue();
+        }
+
+        if (icon != -1) {
+            mIconRes = ensure(mIconRes);
+            mIconRes[position] = icon;
+        }
+
+        setGravity(position, 0, iconGravity);
+        return position;
+    }
+
+    private SwipeIconGravity getGravity(int position, int which) {
+        return GRAVITIES[(mGravities[position] >> (which * GRAVITY_BITS)) & GRAVITY_MASK];
+    }
+
+    private void setGravity(int position, int which, SwipeIconGravity gravity) {
+        if (position < 0 || position >= mSize) {
+            throw new IndexOutOfBoundsException("No item at position " + position
+                    + ", there are " + mSize + " items.");
+        }
+
+        int shift = which * GRAVITY_BITS;
+        mGravities[position] = (byte) ((mGravities[position] & ~(GRAVITY_MASK << shift))
+                | (gravity.ordinal() << shift));
+    }
+
+    private void grow() {
+        int capacity = mIds.length * 2;
+
+        mIds = Arrays.copyOf(mIds, capacity);
+        mValueTypes = Arrays.copyOf(mValueTypes, capacity);
+        mGravities = Arrays.copyOf(mGravities, capacity);
+
+        if (mValues != null) {
+            mValues = Arrays.copyOf(mValues, capacity);
+        }
+
+        if (mTitles != null) {
+            mTitles = Arrays.copyOf(mTitles, capacity);
+        }
+
+        if (mDescriptions != null) {
+            mDescriptions = Arrays.copyOf(mDescriptions, capacity);
+        }
+
+        if (mTitleRes != null) {
+            mTitleRes = grow(mTitleRes, capacity);
+        }
+
+        if (mDescriptionRes != null) {
+            mDescriptionRes = grow(mDescriptionRes, capacity);
+        }
+
+        if (mIconRes != null) {
+            mIconRes = grow(mIconRes, capacity);
+        }
+    }
+
+    private Object[] ensure(Object[] array) {
+        return array != null ? array : new Object[mIds.length];
+    }
+
+    private String[] ensure(String[] array) {
+        return array != null ? array : new String[mIds.length];
+    }
+
+    private int[] ensure(int[] array) {
+        return array != null ? array : grow(new int[0], mIds.length);
+    }
+
+    // Resources that weren't given are -1, not 0.
+    private static int[] grow(int[] array, int capacity) {
+        int[] grown = Arrays.copyOf(array, capacity);
+        Arrays.fill(grown, array.length, capacity, -1);
+        return grown;
+    }
+}
@@ -0,0 +1,321 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.util.LongSparseArray;
+
+import java.util.concurrent.Future;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Decodes icon resources on the background thread, downsampled to the size
+ * they're actually shown at, and keeps the results in a memory cache shared
+ * by every selector in the process. Shapes and vector drawables aren't
+ * decoded, but what they're created from is kept in the same cache.
+ */
+class IconLoader {
+    // An eighth of what the app is allowed to use should be more than
+    // enough for icons that are never bigger than 80dp.
+    private static final Cache CACHE = new Cache((int) (Runtime.getRuntime().maxMemory() / 8));
+
+    interface Callback {
+        /**
+         * Called on the main thread when the icon is ready, unless the
+         * request was cancelled before that.
+         * @param icon the loaded icon, or null if the resource
+         * doesn't have one that can be drawn.
+         */
+        void onIconLoaded(Icon icon);
+    }
+
+    /**
+     * What the cache keeps for an icon, which can be turned into as many
+     * Drawables as needed.
+     */
+    static class Icon {
+        private final Bitmap bitmap;
+        private final Drawable.ConstantState state;
+        private final int size;
+
+        // When the icon was last asked for, for evicting the oldest one.
+        private long lastUsed;
+
+        private Icon(Bitmap bitmap) {
+            this.bitmap = bitmap;
+            this.state = null;
+            this.size = bitmap.getRowBytes() * bitmap.getHeight();
+        }
+
+        private Icon(Drawable.ConstantState state, int width, int height) {
+            this.bitmap = null;
+            this.state = state;
+            this.size = Math.max(width, 1) * Math.max(height, 1) * 4;
+        }
+
+        protected Drawable newDrawable(Resources resources) {
+            return bitmap != null ? new BitmapDrawable(resources, bitmap) : state.newDrawable(resources);
+        }
+    }
+
+    /**
+     * The same icon resource can be a different image depending on the
+     * density and on whether night mode is on, so both are part of the
+     * key, along with the height it's decoded for. Packing it all into a
+     * long keeps looking up an icon free of allocations.
+     * @param context the Context the icon is shown in
+     * @param iconRes the icon resource
+     * @param reqHeight the height the icon will be shown at
+     * @return the key of the icon in the cache
+     */
+    protected static long key(Context context, int iconRes, int reqHeight) {
+        Resources resources = context.getResources();
+        long density = resources.getDisplayMetrics().densityDpi & 0xFFF;
+        long nightMode = (resources.getConfiguration().uiMode & Configuration.UI_MODE_NIGHT_MASK) >> 4;
+
+        return ((long) iconRes << 32) | (density << 20) | ((nightMode & 0x3) << 18) | (reqHeight & 0x3FFFF);
+    }
+
+    /**
+     * @param key the key of the icon, see {@link #key(Context, int, int)}
+     * @return the icon if it's already been loaded with the same key,
+     * or null if it has to be loaded.
+     */
+    protected static Icon getCached(long key) {
+        return CACHE.get(key);
+    }
+
+    /**
+     * Loads the icon on the calling thread if it isn't cached yet, for the
+     * few times it's needed right away.
+     * @param context the Context for getting the resources
+     * @param iconRes the icon resource
+     * @param reqHeight the height the icon will be shown at
+     * @return the icon, or null if the resource doesn't have one.
+     */
+    protected static Icon get(Context context, int iconRes, int reqHeight) {
+        long key = key(context, iconRes, reqHeight);
+        Icon icon = CACHE.get(key);
+
+        if (icon == null) {
+            Bitmap bitmap = decode(context.getResources(), iconRes, reqHeight);
+            icon = bitmap != null ? new Icon(bitmap) : create(context, iconRes);
+
+            if (icon != null) {
+                CACHE.put(key, icon);
+            }
+        }
+
+        return icon;
+    }
+
+    /**
+     * Starts decoding the icon on the background thread.
+     * @param context the Context for getting the resources
+     * @param iconRes the icon resource
+     * @param reqHeight the height the icon will be shown at
+     * @param callback notified on the main thread when the icon is ready
+     * @return the request, which should be cancelled if the icon isn't
+     * needed anymore.
+     */
+    protected static Request load(Context context, int iconRes, int reqHeight, Callback callback) {
+        Request request = new Request(context, iconRes, reqHeight, callback);
+        request.future = SwipeExecutors.background(request);
+        return request;
+    }
+
+    /**
+     * Looks up how big the icon is without decoding its pixels. Shapes and
+     * vector drawables have no bounds to decode, so those get created, which
+     * is cheap for them.
+     * @param context the Context for getting the resources
+     * @param iconRes the icon resource
+     * @param outSize gets the intrinsic width and height of the icon, the
+     * same as the Drawable would have them.
+     */
+    protected static void getIntrinsicSize(Context context, int iconRes, int[] outSize) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(context.getResources(), iconRes, options);
+
+        if (options.outHeight > 0) {
+            outSize[0] = options.outWidth;
+            outSize[1] = options.outHeight;
+            return;
+        }
+
+        Drawable icon = ContextCompat.getDrawable(context, iconRes);
+        outSize[0] = icon != null ? icon.getIntrinsicWidth() : 0;
+        outSize[1] = icon != null ? icon.getIntrinsicHeight() : 0;
+    }
+
+    private static Bitmap decode(Resources resources, int iconRes, int reqHeight) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, iconRes, options);
+
+        // Not a bitmap, such as a shape or a vector drawable.
+        if (options.outHeight <= 0) {
+            return null;
+        }
+
+        int sampleSize = 1;
+        while (options.outHeight / (sampleSize * 2) >= reqHeight) {
+            sampleSize *= 2;
+        }
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        return BitmapFactory.decodeResource(resources, iconRes, options);
+    }
+
+    /**
+     * Shapes and vector drawables are created the usual way, and what
+     * they were created from is kept instead of any pixels.
+     */
+    private static Icon create(Context context, int iconRes) {
+        Drawable drawable = ContextCompat.getDrawable(context, iconRes);
+
+        if (drawable == null || drawable.getConstantState() == null) {
+            return null;
+        }
+
+        return new Icon(drawable.getConstantState(),
+                drawable.getIntrinsicWidth(), drawable.getIntrinsicHeight());
+    }
+
+    /**
+     * A least recently used cache of icons, keyed by a primitive so
+     * looking one up doesn't allocate. There are rarely more than a few
+     * dozen icons in it, so finding the one to evict just goes through
+     * all of them.
+     */
+    private static class Cache {
+        private final LongSparseArray<Icon> mIcons = new LongSparseArray<>();
+        private final int mMaxSize;
+
+        private int mSize;
+        private long mClock;
+
+        private Cache(int maxSize) {
+            mMaxSize = maxSize;
+        }
+
+        private synchronized Icon get(long key) {
+            Icon icon = mIcons.get(key);
+
+            if (icon != null) {
+                icon.lastUsed = ++mClock;
+            }
+
+            return icon;
+        }
+
+        private synchronized void put(long key, Icon icon) {
+            Icon previous = mIcons.get(key);
+
+            if (previous != null) {
+                mSize -= previous.size;
+            }
+
+            icon.lastUsed = ++mClock;
+            mIcons.put(key, icon);
+            mSize += icon.size;
+
+            while (mSize > mMaxSize && mIcons.size() > 1) {
+                int oldest = 0;
+
+                for (int i = 1; i < mIcons.size(); i++) {
+                    if (mIcons.valueAt(i).lastUsed < mIcons.valueAt(oldest).lastUsed) {
+                        oldest = i;
+                    }
+                }
+
+                mSize -= mIcons.valueAt(oldest).size;
+                mIcons.removeAt(oldest);
+            }
+        }
+    }
+
+    static class Request implements Runnable {
+        private final Context context;
+        private final int iconRes;
+        private final int reqHeight;
+        private final long key;
+        private final Callback callback;
+
+        private volatile boolean cancelled;
+        private Future<?> future;
+
+        private Request(Context context, int iconRes, int reqHeight, Callback callback) {
+            this.context = context;
+            this.iconRes = iconRes;
+            this.reqHeight = reqHeight;
+            this.key = key(context, iconRes, reqHeight);
+            this.callback = callback;
+        }
+
+        protected void cancel() {
+            cancelled = true;
+            future.cancel(false);
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+
+            Bitmap bitmap = decode(context.getResources(), iconRes, reqHeight);
+            final Icon decoded = bitmap != null ? new Icon(bitmap) : null;
+
+            if (decoded != null) {
+                CACHE.put(key, decoded);
+            }
+
+            SwipeExecutors.main(new Runnable() {
+                @Override
+                public void run() {
+                    if (cancelled) {
+                        return;
+                    }
+
+                    // Shapes and vector drawables are created here, on the
+                    // main thread, and only until they're in the cache.
+                    Icon icon = decoded != null ? decoded : CACHE.get(key);
+
+                    if (icon == null) {
+                        icon = create(context, iconRes);
+
+                        if (icon != null) {
+                            CACHE.put(key, icon);
+                        }
+                    }
+
+                    callback.onIconLoaded(icon);
+                }
+            });
+        }
+    }
+}
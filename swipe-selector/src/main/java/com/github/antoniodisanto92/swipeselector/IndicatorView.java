@@ -0,0 +1,166 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.view.View;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Draws the page indicator dots by itself, so the amount of items doesn't
+ * affect the amount of views. When there are more items than
+ * {@link #MAX_VISIBLE_DOTS}, only a window of dots around the selected one
+ * is shown, with the dots at the edges shrunk to hint there's more.
+ * <p/>
+ * The active dot follows the pager while it's being swiped.
+ */
+public class IndicatorView extends View {
+    protected static final int MAX_VISIBLE_DOTS = 9;
+
+    private final Paint mInActivePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mActivePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    private int mDotSize;
+    private int mDotMargin;
+
+    private int mCount;
+    private int mPosition;
+    private float mOffset;
+
+    public IndicatorView(Context context) {
+        super(context);
+    }
+
+    public IndicatorView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    protected void setStyle(int dotSize, int dotMargin, int inActiveColor, int activeColor) {
+        mDotSize = dotSize;
+        mDotMargin = dotMargin;
+        mInActivePaint.setColor(inActiveColor);
+        mActivePaint.setColor(activeColor);
+
+        requestLayout();
+        invalidate();
+    }
+
+    protected void setCount(int count) {
+        if (count == mCount) {
+            return;
+        }
+
+        boolean resize = Math.min(count, MAX_VISIBLE_DOTS) != Math.min(mCount, MAX_VISIBLE_DOTS);
+        mCount = count;
+
+        if (resize) {
+            requestLayout();
+        }
+
+        invalidate();
+    }
+
+    /**
+     * @param position the page on the left of the ones that are visible
+     * @param offset how far the pager has been swiped towards the next
+     * page, from 0 to 1.
+     */
+    protected void setPosition(int position, float offset) {
+        if (position == mPosition && offset == mOffset) {
+            return;
+        }
+
+        mPosition = position;
+        mOffset = offset;
+        invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int visible = Math.min(mCount, MAX_VISIBLE_DOTS);
+        int width = visible * (mDotSize + mDotMargin) + getPaddingLeft() + getPaddingRight();
+        int height = visible > 0 ? mDotSize + getPaddingTop() + getPaddingBottom() : 0;
+
+        setMeasuredDimension(resolveSize(width, widthMeasureSpec),
+                resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (mCount == 0) {
+            return;
+        }
+
+        int visible = Math.min(mCount, MAX_VISIBLE_DOTS);
+        float active = Math.min(mPosition + mOffset, mCount - 1);
+
+        // Keep the active dot in the middle of the window, except near
+        // the ends where the window stops scrolling.
+        float windowStart = Math.max(0, Math.min(active - visible / 2, mCount - visible));
+        float windowEnd = windowStart + visible - 1;
+        boolean moreOnLeft = windowStart > 0;
+        boolean moreOnRight = windowEnd < mCount - 1;
+
+        float radius = mDotSize / 2f;
+        float step = mDotSize + mDotMargin;
+        float left = getPaddingLeft() + mDotMargin + radius;
+        float y = getPaddingTop() + radius;
+
+        int first = Math.max(0, (int) windowStart - 1);
+        int last = Math.min(mCount - 1, (int) windowEnd + 1);
+
+        for (int i = first; i <= last; i++) {
+            float scale = 1;
+
+            if (moreOnLeft) {
+                scale = Math.min(scale, edgeScale(i - windowStart));
+            }
+
+            if (moreOnRight) {
+                scale = Math.min(scale, edgeScale(windowEnd - i));
+            }
+
+            if (scale > 0) {
+                canvas.drawCircle(left + (i - windowStart) * step, y, radius * scale, mInActivePaint);
+            }
+        }
+
+        float activeScale = 1;
+
+        if (moreOnLeft) {
+            activeScale = Math.min(activeScale, edgeScale(active - windowStart));
+        }
+
+        if (moreOnRight) {
+            activeScale = Math.min(activeScale, edgeScale(windowEnd - active));
+        }
+
+        canvas.drawCircle(left + (active - windowStart) * step, y, radius * activeScale, mActivePaint);
+    }
+
+    /**
+     * @param fromEdge how many dots away from the edge of the window
+     * the dot is, negative if it's outside of it
+     * @return how big the dot should be compared to the others.
+     */
+    protected static float edgeScale(float fromEdge) {
+        return Math.max(0, Math.min(1, 0.5f + fromEdge / 2));
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import java.util.List;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Where a SwipeAdapter gets its items from.
+ */
+interface ItemStore extends SelectionModel.Lookup {
+    int size();
+
+    /**
+     * @param position the position of the item
+     * @return the item, or null if it hasn't been loaded yet.
+     */
+    SwipeItem get(int position);
+
+    /**
+     * @param item the item to look for
+     * @return the position of the loaded item with the same key, which
+     * might be a different SwipeItem, or -1 if there isn't one.
+     */
+    int indexOf(SwipeItem item);
+
+    /**
+     * @return a copy of the items that are loaded, for going through them
+     * without holding onto the store.
+     */
+    List<SwipeItem> getLoadedItems();
+
+    /**
+     * Called when the selected position changes, so the store can
+     * load what's near it and forget what's far away.
+     * @param position the new selected position
+     */
+    void onPositionChanged(int position);
+
+    /**
+     * Called when the store is replaced and won't be used anymore.
+     */
+    void release();
+
+    interface Listener {
+        void onItemsLoaded(int startPosition, int count);
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Maps keys to positions. When several positions share a key, the first
+ * one that was put wins.
+ * <p/>
+ * Whole numbers go into a primitive map instead, so they can be looked up
+ * by a plain int or long without boxing, and don't cost a hash map entry
+ * and a boxed position each. This also means an Integer and a Long with
+ * the same number are the same key.
+ * <p/>
+ * This is plain Java, so it can be benchmarked without Android, see
+ * {@link SelectionModel}. {@link ValueIndex} builds it from SwipeItems.
+ */
+class KeyIndex implements SelectionModel.Lookup {
+    private final HashMap<Object, Integer> mPositions = new HashMap<>();
+    private final LongIntMap mIdPositions = new LongIntMap();
+
+    /**
+     * @return true if the value is a whole number, which then also works
+     * as a primitive id.
+     */
+    protected static boolean isId(Object value) {
+        return value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * @param key the key to look for
+     * @return the first position with the key, or -1 if there isn't one.
+     */
+    protected int get(Object key) {
+        if (isId(key)) {
+            return get(((Number) key).longValue());
+        }
+
+        Integer position = mPositions.get(key);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * @param id the whole number key to look for
+     * @return the first position with the key, or -1 if there isn't one.
+     */
+    protected int get(long id) {
+        return mIdPositions.get(id, -1);
+    }
+
+    @Override
+    public int indexOfValue(Object value) {
+        return get(value);
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        return get(id);
+    }
+
+    /**
+     * Indexes the keys from scratch, each one at its position in the array.
+     * A key that's in there more than once stays at its first position, and
+     * {@link #onDuplicateKey(int, int, Object)} gets told about the others.
+     */
+    protected void build(Object[] keys) {
+        clear();
+
+        for (int i = 0; i < keys.length; i++) {
+            int existing = putKey(keys[i], i);
+
+            if (existing != -1) {
+                onDuplicateKey(existing, i, keys[i]);
+            }
+        }
+    }
+
+    /**
+     * Called by {@link #build(Object[])} for a key that's already at an
+     * earlier position. Nothing happens here.
+     */
+    protected void onDuplicateKey(int existing, int position, Object key) {
+    }
+
+    /**
+     * @return the position that already had the key, in which case it
+     * keeps it, or -1 if the key is now at the given position.
+     */
+    protected int putKey(Object key, int position) {
+        if (isId(key)) {
+            return putId(((Number) key).longValue(), position);
+        }
+
+        Integer existing = mPositions.get(key);
+
+        if (existing == null) {
+            mPositions.put(key, position);
+            return -1;
+        }
+
+        return existing;
+    }
+
+    /**
+     * @return the position that already had the id, in which case it
+     * keeps it, or -1 if the id is now at the given position.
+     */
+    protected int putId(long id, int position) {
+        int existing = mIdPositions.get(id, -1);
+
+        if (existing == -1) {
+            mIdPositions.put(id, position);
+        }
+
+        return existing;
+    }
+
+    /**
+     * Forgets the key, if it's at the given position.
+     */
+    protected void removeKey(Object key, int position) {
+        if (get(key) != position) {
+            return;
+        }
+
+        if (isId(key)) {
+            mIdPositions.remove(((Number) key).longValue());
+        } else {
+            mPositions.remove(key);
+        }
+    }
+
+    /**
+     * Forgets every key at the given position or after it.
+     */
+    protected void removeFrom(int start) {
+        Iterator<Integer> positions = mPositions.values().iterator();
+
+        while (positions.hasNext()) {
+            if (positions.next() >= start) {
+                positions.remove();
+            }
+        }
+
+        mIdPositions.removeValuesFrom(start);
+    }
+
+    protected void clear() {
+        mPositions.clear();
+        mIdPositions.clear();
+    }
+}
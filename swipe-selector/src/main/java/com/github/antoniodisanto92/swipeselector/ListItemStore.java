@@ -0,0 +1,97 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+class ListItemStore implements ItemStore {
+    private ArrayList<SwipeItem> mItems;
+    private final ValueIndex mIndex = new ValueIndex();
+
+    protected ListItemStore(ArrayList<SwipeItem> items) {
+        mItems = items;
+        mIndex.build(items);
+    }
+
+    @Override
+    public int size() {
+        return mItems.size();
+    }
+
+    @Override
+    public SwipeItem get(int position) {
+        return mItems.get(position);
+    }
+
+    @Override
+    public int indexOfValue(Object value) {
+        return mIndex.get(value);
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        return mIndex.get(id);
+    }
+
+    @Override
+    public int indexOf(SwipeItem item) {
+        return mIndex.get(item.key());
+    }
+
+    @Override
+    public List<SwipeItem> getLoadedItems() {
+        return new ArrayList<>(mItems);
+    }
+
+    protected void setItems(ArrayList<SwipeItem> items) {
+        mItems = items;
+        mIndex.build(items);
+    }
+
+    protected void insert(int position, SwipeItem item) {
+        mItems.add(position, item);
+        mIndex.reindexFrom(mItems, position, position);
+    }
+
+    protected void remove(int position) {
+        mItems.remove(position);
+        mIndex.reindexFrom(mItems, position, -1);
+    }
+
+    protected void move(int fromPosition, int toPosition) {
+        mItems.add(toPosition, mItems.remove(fromPosition));
+        mIndex.reindexFrom(mItems, Math.min(fromPosition, toPosition), -1);
+    }
+
+    protected void set(int position, SwipeItem item) {
+        SwipeItem previous = mItems.set(position, item);
+
+        if (!previous.key().equals(item.key())) {
+            mIndex.reindexFrom(mItems, position, position);
+        }
+    }
+
+    @Override
+    public void onPositionChanged(int position) {
+        // Everything is already in memory.
+    }
+
+    @Override
+    public void release() {
+    }
+}
@@ -0,0 +1,964 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Parcelable;
+import android.support.v4.view.ViewCompat;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.widget.Scroller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * A lightweight alternative to {@link SwipeSelector} that draws everything
+ * (pages, left and right buttons, indicators) by itself into a single View,
+ * instead of building a view hierarchy for every page and indicator.
+ * <p/>
+ * It takes the same attributes, {@link SwipeItem}s and
+ * {@link OnSwipeItemSelectedListener} as SwipeSelector, so the two can be
+ * swapped in a layout file without touching any code around them.
+ */
+public class LiteSwipeSelector extends View {
+    private static final int MAX_ICON_HEIGHT = 80;
+    private static final int MAX_SNAP_DURATION = 400;
+    private static final int PREFETCH_DISTANCE = 3;
+    private static final String STATE_CURRENT_POSITION = "STATE_CURRENT_POSITION";
+    private static final String STATE_SELECTOR = "STATE_SELECTOR";
+
+    private ArrayList<SwipeItem> mItems = new ArrayList<>();
+    private final ValueIndex mValueIndex = new ValueIndex();
+    private OnSwipeItemSelectedListener mOnItemSelectedListener;
+    private int mCurrentPosition;
+
+    private int mIndicatorSize;
+    private int mIndicatorMargin;
+    private Paint mInActiveIndicatorPaint;
+    private Paint mActiveIndicatorPaint;
+
+    private Drawable mLeftButton;
+    private Drawable mRightButton;
+    private Drawable mIconPlaceholder;
+
+    private TextPaint mTitlePaint;
+    private TextPaint mDescriptionPaint;
+    private Layout.Alignment mDefaultDescriptionAlignment;
+
+    private int mSweetSixteen;
+    private int mFour;
+    private int mTen;
+    private int mMaxIconHeight;
+    private int mContentLeftPadding;
+    private int mContentRightPadding;
+
+    // Text layouts and icon sizes for the pages near the current one,
+    // built for mPageWidth.
+    private final SparseArray<PageLayout> mPages = new SparseArray<>();
+    private final TextLayoutCache mTextLayouts = new TextLayoutCache();
+    private final SparseArray<Drawable> mIcons = new SparseArray<>();
+    private final SparseArray<IconLoader.Request> mIconRequests = new SparseArray<>();
+    private int mPageWidth;
+
+    // Applies the custom font if it was still being loaded.
+    private TypefaceCache.Callback mTypefaceCallback;
+
+    private Scroller mScroller;
+    private VelocityTracker mVelocityTracker;
+    private int mTouchSlop;
+    private int mMinFlingVelocity;
+    private int mMaxFlingVelocity;
+    private float mScrollOffset;
+    private float mDownX;
+    private float mLastX;
+    private boolean mIsDragging;
+
+    public LiteSwipeSelector(Context context) {
+        super(context);
+        init(context, null, 0, 0);
+    }
+
+    public LiteSwipeSelector(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init(context, attrs, 0, 0);
+    }
+
+    public LiteSwipeSelector(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context, attrs, defStyleAttr, 0);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    public LiteSwipeSelector(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
+        init(context, attrs, defStyleAttr, defStyleRes);
+    }
+
+    private void init(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        // Shared with every other selector using the same style.
+        SwipeStyle style = SwipeStyle.obtain(context, attrs, defStyleAttr, defStyleRes);
+
+        mIndicatorSize = style.indicatorSize;
+        mIndicatorMargin = style.indicatorMargin;
+        mInActiveIndicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mInActiveIndicatorPaint.setColor(style.inActiveIndicatorColor);
+        mActiveIndicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mActiveIndicatorPaint.setColor(style.activeIndicatorColor);
+
+        // Mutated, because the alpha is changed when fading them in and out.
+        mLeftButton = style.newLeftButton(context).mutate();
+        mLeftButton.setBounds(0, 0, mLeftButton.getIntrinsicWidth(), mLeftButton.getIntrinsicHeight());
+        mRightButton = style.newRightButton(context).mutate();
+        mRightButton.setBounds(0, 0, mRightButton.getIntrinsicWidth(), mRightButton.getIntrinsicHeight());
+
+        mIconPlaceholder = style.newIconPlaceholder(context);
+
+        String customFontPath = style.customFontPath;
+        Typeface customTypeface = null;
+        if (customFontPath != null && customFontPath.length() > 0) {
+            // TypefaceCache only holds on to the callback weakly.
+            mTypefaceCallback = new TypefaceCache.Callback() {
+                @Override
+                public void onTypefaceLoaded(Typeface typeface) {
+                    setTypeface(typeface);
+                }
+            };
+            customTypeface = TypefaceCache.get(context, customFontPath, mTypefaceCallback);
+        }
+
+        mTitlePaint = TextAppearanceUtils.newPaint(context, style.titleTextAppearance != -1
+                ? style.titleTextAppearance : R.style.TextAppearance_AppCompat_Body2, customTypeface);
+        mDescriptionPaint = TextAppearanceUtils.newPaint(context, style.descriptionTextAppearance != -1
+                ? style.descriptionTextAppearance : R.style.TextAppearance_AppCompat_Caption, customTypeface);
+        mDefaultDescriptionAlignment = getAlignment(style.descriptionGravity);
+
+        mSweetSixteen = (int) PixelUtils.dpToPixel(context, 16);
+        mFour = (int) PixelUtils.dpToPixel(context, 4);
+        mTen = (int) PixelUtils.dpToPixel(context, 10);
+        mMaxIconHeight = (int) PixelUtils.dpToPixel(context, MAX_ICON_HEIGHT);
+
+        // Same paddings as the SwipeSelector pages, so the content
+        // doesn't go under the left and right buttons.
+        mContentLeftPadding = style.contentLeftPadding;
+        mContentRightPadding = style.contentRightPadding;
+
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        mTouchSlop = configuration.getScaledTouchSlop();
+        mMinFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        mMaxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+        mScroller = new Scroller(context);
+    }
+
+    /**
+     * Set a listener to be fired every time a different item is chosen.
+     * @param listener the listener that gets fired on item selection
+     */
+    public void setOnItemSelectedListener(OnSwipeItemSelectedListener listener) {
+        mOnItemSelectedListener = listener;
+    }
+
+    /**
+     * A method for giving this LiteSwipeSelector something to show.
+     *
+     * @param swipeItems an array of {@link SwipeItem} to show
+     * inside this view.
+     */
+    public void setItems(SwipeItem... swipeItems) {
+        // Resources are resolved per item when they're first needed.
+        mItems = new ArrayList<>(Arrays.asList(swipeItems));
+        mValueIndex.build(mItems);
+        mCurrentPosition = 0;
+        mScrollOffset = 0;
+        mScroller.forceFinished(true);
+        mPages.clear();
+        clearIcons();
+        prefetchTextLayouts();
+
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * @return the selected slides' SwipeItem.
+     */
+    public SwipeItem getSelectedItem() {
+        if (mItems.isEmpty()) {
+            throw new UnsupportedOperationException("The LiteSwipeSelector " +
+                    "doesn't have any items! Use the setItems() method " +
+                    "for setting the items before calling getSelectedItem().");
+        }
+
+        SwipeItem item = mItems.get(mCurrentPosition);
+        item.resolve(getContext());
+        item.resolveIcon(getContext(), mMaxIconHeight);
+        return item;
+    }
+
+    /**
+     * Select an item at the specified position and animate the change.
+     *
+     * @param position the position to select.
+     */
+    public void selectItemAt(int position) {
+        selectItemAt(position, true);
+    }
+
+    /**
+     * Select an item at the specified position.
+     *
+     * @param position the position to select.
+     * @param animate should the change be animated or not.
+     */
+    public void selectItemAt(int position, boolean animate) {
+        if (position < 0 || position >= mItems.size()) {
+            throw new IndexOutOfBoundsException("This LiteSwipeSelector does " +
+                    "not have an item at position " + position + ".");
+        }
+
+        snapTo(position, 0, animate);
+    }
+
+    /**
+     * Select an item that has the specified value, and animate the change.
+     * See {@link SwipeSelector#selectItemWithValue(Object)}.
+     *
+     * @param value the value of the item to select.
+     */
+    public void selectItemWithValue(Object value) {
+        selectItemWithValue(value, true);
+    }
+
+    /**
+     * Select an item that has the specified value.
+     * See {@link SwipeSelector#selectItemWithValue(Object, boolean)}.
+     *
+     * @param value the value of the item to select.
+     * @param animate should the change be animated or not.
+     */
+    public void selectItemWithValue(Object value, boolean animate) {
+        int position = findPositionByValue(value);
+
+        if (position != -1) {
+            selectItemAt(position, animate);
+        } else {
+            throw new IllegalArgumentException("This LiteSwipeSelector " +
+                    "does not have an item with the given value "
+                    + value.toString() + ".");
+        }
+    }
+
+    /**
+     * See {@link SwipeSelector#selectItemWithValue(long)}.
+     *
+     * @param value the value of the item to select.
+     */
+    public void selectItemWithValue(long value) {
+        selectItemWithValue(value, true);
+    }
+
+    /**
+     * See {@link SwipeSelector#selectItemWithValue(long, boolean)}.
+     *
+     * @param value the value of the item to select.
+     * @param animate should the change be animated or not.
+     */
+    public void selectItemWithValue(long value, boolean animate) {
+        int position = findPositionByValue(value);
+
+        if (position != -1) {
+            selectItemAt(position, animate);
+        } else {
+            throw new IllegalArgumentException("This LiteSwipeSelector " +
+                    "does not have an item with the given value " + value + ".");
+        }
+    }
+
+    /**
+     * See {@link SwipeSelector#findPositionByValue(long)}.
+     *
+     * @param value the value of the item to look for.
+     * @return the position of the item, or -1 if there's no item
+     * with the value.
+     */
+    public int findPositionByValue(long value) {
+        return mValueIndex.get(value);
+    }
+
+    /**
+     * See {@link SwipeSelector#getSelectedItemId()}.
+     *
+     * @return the value of the selected item, or
+     * {@link SwipeSelector#NO_ID} if it isn't a whole number.
+     */
+    public long getSelectedItemId() {
+        if (mItems.isEmpty()) {
+            throw new UnsupportedOperationException("The LiteSwipeSelector " +
+                    "doesn't have any items! Use the setItems() method " +
+                    "for setting the items before calling getSelectedItemId().");
+        }
+
+        SwipeItem item = mItems.get(mCurrentPosition);
+        return item.hasId() ? item.id() : SwipeSelector.NO_ID;
+    }
+
+    /**
+     * See {@link SwipeSelector#findPositionByValue(Object)}.
+     *
+     * @param value the value of the item to look for.
+     * @return the position of the item, or -1 if there's no item
+     * with the value.
+     */
+    public int findPositionByValue(Object value) {
+        return mValueIndex.get(value);
+    }
+
+    @Override
+    public Parcelable onSaveInstanceState() {
+        Bundle bundle = new Bundle();
+        bundle.putInt(STATE_CURRENT_POSITION, mCurrentPosition);
+        SavedSelection.save(bundle, mItems.size(), mItems.isEmpty() ? null : mItems.get(mCurrentPosition));
+        bundle.putParcelable(STATE_SELECTOR, super.onSaveInstanceState());
+        return bundle;
+    }
+
+    @Override
+    public void onRestoreInstanceState(Parcelable state) {
+        if (state instanceof Bundle) {//Shouldn't be needed, just in case
+            Bundle bundle = (Bundle) state;
+            int position = bundle.getInt(STATE_CURRENT_POSITION);
+
+            if (position < mItems.size()
+                    && SavedSelection.matches(bundle, mItems.size(), mItems.get(position))) {
+                snapTo(position, 0, false);
+            }
+
+            state = bundle.getParcelable(STATE_SELECTOR);
+        }
+        super.onRestoreInstanceState(state);
+    }
+
+    /**
+     * Measuring and drawing
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        setPageWidth(width);
+
+        // Like the WrappingPager, be as tall as the tallest page that
+        // would be attached at the moment.
+        int pageHeight = 0;
+        int last = Math.min(mCurrentPosition + 1, mItems.size() - 1);
+        for (int i = Math.max(mCurrentPosition - 1, 0); i <= last; i++) {
+            pageHeight = Math.max(pageHeight, getPage(i).height);
+        }
+
+        int height = pageHeight + mSweetSixteen;
+        height = Math.max(height, mIndicatorSize + mSweetSixteen);
+
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        setPageWidth(w);
+        mScroller.forceFinished(true);
+        mScrollOffset = mCurrentPosition * w;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        int width = getWidth();
+        int count = mItems.size();
+
+        if (count == 0 || width == 0) {
+            return;
+        }
+
+        int first = (int) (mScrollOffset / width);
+        float shift = mScrollOffset - first * width;
+
+        drawPage(canvas, first, -shift);
+
+        if (shift > 0 && first + 1 < count) {
+            drawPage(canvas, first + 1, width - shift);
+        }
+
+        drawButtons(canvas, width, count);
+        drawIndicators(canvas, width, count);
+    }
+
+    @Override
+    public void computeScroll() {
+        if (mScroller.computeScrollOffset()) {
+            mScrollOffset = mScroller.getCurrX();
+            ViewCompat.postInvalidateOnAnimation(this);
+        }
+    }
+
+    /**
+     * Touch handling
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (mItems.isEmpty()) {
+            return false;
+        }
+
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        mVelocityTracker.addMovement(event);
+
+        float x = event.getX();
+
+        switch (event.getAction() & MotionEvent.ACTION_MASK) {
+            case MotionEvent.ACTION_DOWN:
+                mDownX = x;
+                mLastX = x;
+
+                // Catch the page if it's still settling.
+                mIsDragging = !mScroller.isFinished();
+                mScroller.forceFinished(true);
+
+                if (mIsDragging) {
+                    getParent().requestDisallowInterceptTouchEvent(true);
+                }
+                return true;
+            case MotionEvent.ACTION_MOVE:
+                if (!mIsDragging && Math.abs(x - mDownX) > mTouchSlop) {
+                    mIsDragging = true;
+                    getParent().requestDisallowInterceptTouchEvent(true);
+                }
+
+                if (mIsDragging) {
+                    float maxOffset = (mItems.size() - 1) * getWidth();
+                    mScrollOffset = Math.max(0, Math.min(maxOffset, mScrollOffset - (x - mLastX)));
+                    ViewCompat.postInvalidateOnAnimation(this);
+                }
+
+                mLastX = x;
+                return true;
+            case MotionEvent.ACTION_UP:
+                if (mIsDragging) {
+                    mVelocityTracker.computeCurrentVelocity(1000, mMaxFlingVelocity);
+                    settle(mVelocityTracker.getXVelocity());
+                } else {
+                    onTap(x);
+                }
+
+                endDrag();
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                if (mIsDragging) {
+                    settle(0);
+                }
+
+                endDrag();
+                return true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Private convenience methods used by this class.
+     */
+    private void settle(float velocity) {
+        int width = getWidth();
+        float pagePosition = mScrollOffset / width;
+        int target;
+
+        if (Math.abs(velocity) > mMinFlingVelocity) {
+            target = velocity < 0 ? (int) pagePosition + 1 : (int) pagePosition;
+        } else {
+            target = Math.round(pagePosition);
+        }
+
+        target = Math.max(0, Math.min(mItems.size() - 1, target));
+        snapTo(target, velocity, true);
+    }
+
+    private void onTap(float x) {
+        if (x < mContentLeftPadding && mCurrentPosition > 0) {
+            snapTo(mCurrentPosition - 1, 0, true);
+        } else if (x > getWidth() - mContentRightPadding && mCurrentPosition < mItems.size() - 1) {
+            snapTo(mCurrentPosition + 1, 0, true);
+        }
+
+        performClick();
+    }
+
+    private void endDrag() {
+        mIsDragging = false;
+
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    private void snapTo(int position, float velocity, boolean animate) {
+        int width = getWidth();
+        int targetOffset = position * width;
+
+        if (animate && width > 0) {
+            int distance = (int) (targetOffset - mScrollOffset);
+            int duration = MAX_SNAP_DURATION * Math.abs(distance) / width;
+
+            if (velocity != 0) {
+                duration = Math.min(duration, (int) (1000f * Math.abs(distance) / Math.abs(velocity)) * 2);
+            }
+
+            mScroller.forceFinished(true);
+            mScroller.startScroll((int) mScrollOffset, 0, distance,
+                    0, Math.min(duration, MAX_SNAP_DURATION));
+        } else {
+            mScroller.forceFinished(true);
+            mScrollOffset = targetOffset;
+        }
+
+        setCurrentPosition(position);
+        ViewCompat.postInvalidateOnAnimation(this);
+    }
+
+    private void setCurrentPosition(int position) {
+        if (position == mCurrentPosition) {
+            return;
+        }
+
+        mCurrentPosition = position;
+
+        // Forget the pages that are too far away to be drawn anymore.
+        for (int i = mPages.size() - 1; i >= 0; i--) {
+            if (Math.abs(mPages.keyAt(i) - position) > 2) {
+                mPages.removeAt(i);
+            }
+        }
+
+        for (int i = mIcons.size() - 1; i >= 0; i--) {
+            if (Math.abs(mIcons.keyAt(i) - position) > 2) {
+                mIcons.removeAt(i);
+            }
+        }
+
+        for (int i = mIconRequests.size() - 1; i >= 0; i--) {
+            if (Math.abs(mIconRequests.keyAt(i) - position) > 2) {
+                mIconRequests.valueAt(i).cancel();
+                mIconRequests.removeAt(i);
+            }
+        }
+
+        prefetchTextLayouts();
+        requestLayout();
+
+        if (mOnItemSelectedListener != null) {
+            mOnItemSelectedListener.onItemSelected(getSelectedItem());
+        }
+    }
+
+    /**
+     * For a custom font that was still being loaded when this was created.
+     */
+    private void setTypeface(Typeface typeface) {
+        if (typeface == null) {
+            return;
+        }
+
+        // New paints, so layouts that are still being built with the
+        // old ones in the background don't end up in the cache.
+        mTitlePaint = new TextPaint(mTitlePaint);
+        mTitlePaint.setTypeface(typeface);
+        mDescriptionPaint = new TextPaint(mDescriptionPaint);
+        mDescriptionPaint.setTypeface(typeface);
+
+        mTextLayouts.clear();
+        mPages.clear();
+        prefetchTextLayouts();
+
+        requestLayout();
+        invalidate();
+    }
+
+    private void setPageWidth(int width) {
+        if (width != mPageWidth) {
+            mPageWidth = width;
+            mPages.clear();
+            prefetchTextLayouts();
+        }
+    }
+
+    /**
+     * Builds the text layouts for the pages around the current one on the
+     * background thread, so they're ready by the time the user swipes there.
+     */
+    private void prefetchTextLayouts() {
+        if (mPageWidth == 0 || mItems.isEmpty()) {
+            return;
+        }
+
+        int last = Math.min(mCurrentPosition + PREFETCH_DISTANCE, mItems.size() - 1);
+        for (int i = Math.max(mCurrentPosition - PREFETCH_DISTANCE, 0); i <= last; i++) {
+            SwipeItem item = mItems.get(i);
+            item.resolve(getContext());
+            int textWidth = getTextWidth(item, getIcon(i, item, false));
+
+            mTextLayouts.prefetch(getTitle(item), mTitlePaint, textWidth,
+                    getAlignment(item.titleGravity, Layout.Alignment.ALIGN_CENTER));
+
+            if (item.description != null) {
+                mTextLayouts.prefetch(item.description, mDescriptionPaint, textWidth,
+                        getAlignment(item.descriptionGravity, mDefaultDescriptionAlignment));
+            }
+        }
+    }
+
+    private int getTextWidth(SwipeItem item, Drawable icon) {
+        int textWidth = mPageWidth - mContentLeftPadding - mContentRightPadding;
+
+        if (icon != null && SwipeAdapter.getItemViewType(item.iconGravity) != PageRecycler.VIEW_TYPE_CENTER) {
+            textWidth -= getIconWidth(icon) + mTen;
+        }
+
+        return Math.max(textWidth, 0);
+    }
+
+    /**
+     * Icon resources are decoded in the background and downsampled. Until
+     * they're ready the page is drawn with the placeholder, or without an
+     * icon if there isn't one, and laid out again once the icon arrives.
+     */
+    private Drawable getIcon(int position, SwipeItem item, boolean load) {
+        if (item.iconRes == -1) {
+            return item.icon;
+        }
+
+        Drawable icon = mIcons.get(position);
+
+        if (icon == null) {
+            IconLoader.Icon loaded = IconLoader.getCached(
+                    IconLoader.key(getContext(), item.iconRes, mMaxIconHeight));
+
+            if (loaded != null) {
+                icon = loaded.newDrawable(getResources());
+                mIcons.put(position, icon);
+            } else {
+                if (load && mIconRequests.get(position) == null) {
+                    mIconRequests.put(position, IconLoader.load(getContext(), item.iconRes,
+                            mMaxIconHeight, newIconCallback(position)));
+                }
+
+                icon = mIconPlaceholder;
+            }
+        }
+
+        return icon;
+    }
+
+    private IconLoader.Callback newIconCallback(final int position) {
+        return new IconLoader.Callback() {
+            @Override
+            public void onIconLoaded(IconLoader.Icon icon) {
+                mIconRequests.remove(position);
+
+                // Laying out again would only ask for it again.
+                if (icon == null) {
+                    return;
+                }
+
+                mIcons.put(position, icon.newDrawable(getResources()));
+                mPages.remove(position);
+
+                requestLayout();
+                invalidate();
+            }
+        };
+    }
+
+    private void clearIcons() {
+        for (int i = 0; i < mIconRequests.size(); i++) {
+            mIconRequests.valueAt(i).cancel();
+        }
+
+        mIconRequests.clear();
+        mIcons.clear();
+    }
+
+    private int getIconWidth(Drawable icon) {
+        int intrinsicWidth = Math.max(icon.getIntrinsicWidth(), 0);
+        int intrinsicHeight = Math.max(icon.getIntrinsicHeight(), 0);
+
+        if (intrinsicHeight > mMaxIconHeight) {
+            return (int) (intrinsicWidth * ((float) mMaxIconHeight / intrinsicHeight));
+        }
+
+        return intrinsicWidth;
+    }
+
+    private int getIconHeight(Drawable icon) {
+        return Math.min(Math.max(icon.getIntrinsicHeight(), 0), mMaxIconHeight);
+    }
+
+    private static CharSequence getTitle(SwipeItem item) {
+        return item.title != null ? item.title : "";
+    }
+
+    private PageLayout getPage(int position) {
+        PageLayout page = mPages.get(position);
+
+        if (page == null) {
+            page = new PageLayout(position, mItems.get(position));
+            mPages.put(position, page);
+        }
+
+        return page;
+    }
+
+    private void drawPage(Canvas canvas, int position, float left) {
+        PageLayout page = getPage(position);
+        int contentWidth = mPageWidth - mContentLeftPadding - mContentRightPadding;
+        int top = (getHeight() - mSweetSixteen - page.height) / 2 + mSweetSixteen;
+
+        canvas.save();
+        canvas.translate(left + mContentLeftPadding, top);
+
+        if (page.viewType == PageRecycler.VIEW_TYPE_CENTER) {
+            if (page.icon != null) {
+                canvas.save();
+                canvas.translate((contentWidth - page.iconWidth) / 2, 0);
+                page.icon.draw(canvas);
+                canvas.restore();
+                canvas.translate(0, page.iconHeight + mFour);
+            }
+
+            drawText(canvas, page.title, true);
+
+            if (page.description != null) {
+                canvas.translate(0, page.title.getHeight() + mFour);
+                drawText(canvas, page.description, true);
+            }
+        } else {
+            int textHeight = page.textHeight();
+            int rowHeight = Math.max(page.iconHeight, textHeight);
+            boolean iconOnLeft = page.viewType == PageRecycler.VIEW_TYPE_LEFT;
+
+            if (page.icon != null) {
+                canvas.save();
+                canvas.translate(iconOnLeft ? 0 : contentWidth - page.iconWidth,
+                        (rowHeight - page.iconHeight) / 2);
+                page.icon.draw(canvas);
+                canvas.restore();
+            }
+
+            canvas.translate(iconOnLeft && page.icon != null ? page.iconWidth + mTen : 0,
+                    (rowHeight - textHeight) / 2);
+            drawText(canvas, page.title, false);
+
+            if (page.description != null) {
+                canvas.translate(0, page.title.getHeight() + mFour);
+                drawText(canvas, page.description, false);
+            }
+        }
+
+        canvas.restore();
+    }
+
+    /**
+     * Centered pages mimic a wrap_content TextView inside a centered parent:
+     * the text block is centered as a whole, and aligned inside the block.
+     */
+    private void drawText(Canvas canvas, StaticLayout layout, boolean centerBlock) {
+        float shift = 0;
+
+        if (centerBlock) {
+            float blockWidth = 0;
+            for (int i = 0; i < layout.getLineCount(); i++) {
+                blockWidth = Math.max(blockWidth, layout.getLineWidth(i));
+            }
+
+            float blockOffset = (layout.getWidth() - blockWidth) / 2;
+
+            switch (layout.getAlignment()) {
+                case ALIGN_NORMAL:
+                    shift = blockOffset;
+                    break;
+                case ALIGN_OPPOSITE:
+                    shift = -blockOffset;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        canvas.translate(shift, 0);
+        layout.draw(canvas);
+        canvas.translate(-shift, 0);
+    }
+
+    private void drawButtons(Canvas canvas, int width, int count) {
+        int eight = mSweetSixteen / 2;
+        float pagePosition = mScrollOffset / width;
+
+        // The buttons fade out while swiping towards the first and the last item.
+        int leftAlpha = (int) (255 * Math.min(1, pagePosition));
+        int rightAlpha = (int) (255 * Math.min(1, count - 1 - pagePosition));
+
+        if (leftAlpha > 0) {
+            canvas.save();
+            canvas.translate(eight, (getHeight() - mLeftButton.getIntrinsicHeight()) / 2);
+            mLeftButton.setAlpha(leftAlpha);
+            mLeftButton.draw(canvas);
+            canvas.restore();
+        }
+
+        if (rightAlpha > 0) {
+            canvas.save();
+            canvas.translate(width - eight - mRightButton.getIntrinsicWidth(),
+                    (getHeight() - mRightButton.getIntrinsicHeight()) / 2);
+            mRightButton.setAlpha(rightAlpha);
+            mRightButton.draw(canvas);
+            canvas.restore();
+        }
+    }
+
+    /**
+     * Draws the same window of dots around the current one as
+     * {@link IndicatorView} does, so lots of items don't mean lots of dots.
+     */
+    private void drawIndicators(Canvas canvas, int width, int count) {
+        int visible = Math.min(count, IndicatorView.MAX_VISIBLE_DOTS);
+        int windowStart = Math.max(0, Math.min(mCurrentPosition - visible / 2, count - visible));
+        int windowEnd = windowStart + visible - 1;
+        boolean moreOnLeft = windowStart > 0;
+        boolean moreOnRight = windowEnd < count - 1;
+
+        float radius = mIndicatorSize / 2f;
+        float step = mIndicatorSize + mIndicatorMargin;
+        float x = (width - (visible * step - mIndicatorMargin)) / 2 + radius;
+        float y = getHeight() - mSweetSixteen - radius;
+
+        for (int i = windowStart; i <= windowEnd; i++) {
+            float scale = 1;
+
+            if (moreOnLeft) {
+                scale = Math.min(scale, IndicatorView.edgeScale(i - windowStart));
+            }
+
+            if (moreOnRight) {
+                scale = Math.min(scale, IndicatorView.edgeScale(windowEnd - i));
+            }
+
+            canvas.drawCircle(x, y, radius * scale,
+                    i == mCurrentPosition ? mActiveIndicatorPaint : mInActiveIndicatorPaint);
+            x += step;
+        }
+    }
+
+    private Layout.Alignment getAlignment(SwipeIconGravity gravity, Layout.Alignment defaultAlignment) {
+        switch (gravity) {
+            case CENTER:
+                return Layout.Alignment.ALIGN_CENTER;
+            case LEFT:
+                return Layout.Alignment.ALIGN_NORMAL;
+            case RIGHT:
+                return Layout.Alignment.ALIGN_OPPOSITE;
+            default:
+                return defaultAlignment;
+        }
+    }
+
+    private Layout.Alignment getAlignment(int descriptionGravity) {
+        switch (descriptionGravity) {
+            case 0:
+                return Layout.Alignment.ALIGN_NORMAL;
+            case 2:
+                return Layout.Alignment.ALIGN_OPPOSITE;
+            case -1:
+            case 1:
+                return Layout.Alignment.ALIGN_CENTER;
+            default:
+                throw new IllegalArgumentException("Invalid value " +
+                        "specified for swipe_descriptionGravity. " +
+                        "Use \"left\", \"center\", \"right\" or leave " +
+                        "blank for default.");
+        }
+    }
+
+    /**
+     * Everything needed for drawing one page, built once for the current width.
+     */
+    private class PageLayout {
+        private final int viewType;
+        private final Drawable icon;
+        private final int iconWidth;
+        private final int iconHeight;
+        private final StaticLayout title;
+        private final StaticLayout description;
+        private final int height;
+
+        private PageLayout(int position, SwipeItem item) {
+            item.resolve(getContext());
+            viewType = SwipeAdapter.getItemViewType(item.iconGravity);
+            icon = getIcon(position, item, true);
+
+            if (icon != null) {
+                iconWidth = getIconWidth(icon);
+                iconHeight = getIconHeight(icon);
+                icon.setBounds(0, 0, iconWidth, iconHeight);
+            } else {
+                iconWidth = 0;
+                iconHeight = 0;
+            }
+
+            int textWidth = getTextWidth(item, icon);
+
+            // Most of the time these were already built in the background.
+            title = mTextLayouts.get(getTitle(item), mTitlePaint, textWidth,
+                    getAlignment(item.titleGravity, Layout.Alignment.ALIGN_CENTER));
+            description = item.description == null ? null : mTextLayouts.get(item.description,
+                    mDescriptionPaint, textWidth,
+                    getAlignment(item.descriptionGravity, mDefaultDescriptionAlignment));
+
+            if (viewType == PageRecycler.VIEW_TYPE_CENTER) {
+                height = 2 * mSweetSixteen + (icon != null ? iconHeight + mFour : 0) + textHeight();
+            } else {
+                height = 2 * mSweetSixteen + Math.max(iconHeight, textHeight());
+            }
+        }
+
+        private int textHeight() {
+            return title.getHeight() + (description != null ? mFour + description.getHeight() : 0);
+        }
+    }
+}
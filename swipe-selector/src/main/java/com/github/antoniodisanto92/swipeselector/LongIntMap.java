@@ -0,0 +1,182 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import java.util.Arrays;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * A map from longs to non-negative ints that stores both in plain arrays,
+ * with open addressing and linear probing, so neither putting nor getting
+ * boxes anything or allocates per entry.
+ */
+class LongIntMap {
+    private static final int MIN_CAPACITY = 16;
+
+    // Slots in mValues hold the value plus one, so zero means the slot
+    // has never been used and -1 that its entry was removed.
+    private static final int FREE = 0;
+    private static final int REMOVED = -1;
+
+    private long[] mKeys;
+    private int[] mValues;
+    private int mSize;
+    private int mUsed;
+
+    protected LongIntMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * @param key the key to look for
+     * @param missing what to return if the key isn't there
+     * @return the value for the key, or missing.
+     */
+    protected int get(long key, int missing) {
+        int mask = mKeys.length - 1;
+
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int slot = mValues[i];
+
+            if (slot == FREE) {
+                return missing;
+            }
+
+            if (slot != REMOVED && mKeys[i] == key) {
+                return slot - 1;
+            }
+        }
+    }
+
+    /**
+     * @param key the key
+     * @param value the value, which can't be negative
+     */
+    protected void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values can't be stored: " + value);
+        }
+
+        // At most half full, counting removed slots, keeps the probes short.
+        if ((mUsed + 1) * 2 > mKeys.length) {
+            rehash(mSize * 4 > mKeys.length ? mKeys.length * 2 : mKeys.length);
+        }
+
+        int mask = mKeys.length - 1;
+        int reusable = -1;
+
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int slot = mValues[i];
+
+            if (slot == FREE) {
+                if (reusable == -1) {
+                    reusable = i;
+                    mUsed++;
+                }
+
+                mKeys[reusable] = key;
+                mValues[reusable] = value + 1;
+                mSize++;
+                return;
+            }
+
+            if (slot == REMOVED) {
+                if (reusable == -1) {
+                    reusable = i;
+                }
+            } else if (mKeys[i] == key) {
+                mValues[i] = value + 1;
+                return;
+            }
+        }
+    }
+
+    protected void remove(long key) {
+        int mask = mKeys.length - 1;
+
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int slot = mValues[i];
+
+            if (slot == FREE) {
+                return;
+            }
+
+            if (slot != REMOVED && mKeys[i] == key) {
+                mValues[i] = REMOVED;
+                mSize--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes every entry whose value is at least the given one.
+     */
+    protected void removeValuesFrom(int start) {
+        for (int i = 0; i < mValues.length; i++) {
+            if (mValues[i] > start) {
+                mValues[i] = REMOVED;
+                mSize--;
+            }
+        }
+    }
+
+    protected int size() {
+        return mSize;
+    }
+
+    protected void clear() {
+        if (mKeys.length > MIN_CAPACITY) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(mValues, FREE);
+        }
+
+        mSize = 0;
+        mUsed = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] keys = mKeys;
+        int[] values = mValues;
+        allocate(capacity);
+        mSize = 0;
+        mUsed = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] > 0) {
+                put(keys[i], values[i] - 1);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new long[capacity];
+        mValues = new int[capacity];
+    }
+
+    private static int hash(long key) {
+        // The finalizer of MurmurHash3, so sequential ids don't all end up
+        // next to each other.
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
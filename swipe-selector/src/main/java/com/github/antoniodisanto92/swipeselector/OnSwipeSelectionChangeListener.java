@@ -0,0 +1,42 @@
+package com.github.antoniodisanto92.swipeselector;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * A listener for the selection of a {@link SwipeSelector} that tells apart
+ * the pages crossed while swiping from the one the user actually stops at.
+ * Set it with {@link SwipeSelector#setOnSelectionChangeListener}.
+ */
+public interface OnSwipeSelectionChangeListener {
+    /**
+     * Called on the main thread for every page that gets selected, including
+     * the ones in between during a fling. Keep this one cheap.
+     *
+     * @param item the {@link SwipeItem} that's selected for now
+     */
+    void onSelectionChanging(SwipeItem item);
+
+    /**
+     * Called once the pager has stopped scrolling on a different item than
+     * the last time, after the debounce delay if there is one. Runs on the
+     * Executor given with the listener, or on the main thread without one.
+     *
+     * @param item the {@link SwipeItem} the selection settled on
+     */
+    void onSelectionSettled(SwipeItem item);
+}
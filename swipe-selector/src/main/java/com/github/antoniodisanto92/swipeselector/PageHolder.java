@@ -0,0 +1,124 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+class PageHolder implements IconLoader.Callback {
+    protected final View page;
+    protected final int viewType;
+
+    protected final ImageView icon;
+    protected final TextView title;
+    protected final TextView description;
+
+    // The item this page shows and where it is at the moment.
+    protected SwipeItem item;
+    protected int position;
+    protected boolean placeholder;
+
+    // The gravities that were last applied, so rebinding a page
+    // with the same alignment doesn't touch the TextViews at all.
+    protected int titleGravity = -1;
+    protected int descriptionGravity = -1;
+
+    // The custom font the TextViews were given, which might have
+    // arrived after the page was created.
+    protected Typeface typeface;
+
+    // The icon that's still being decoded for this page, if any.
+    protected IconLoader.Request iconRequest;
+
+    // The cached icon this page last showed and the Drawable made for it,
+    // so binding an item with the same icon again reuses the Drawable.
+    protected IconLoader.Icon loadedIcon;
+    protected Drawable loadedIconDrawable;
+
+    // Bumped whenever something that could change the height of the page
+    // changes, so WrappingPager knows when its cached height is outdated.
+    protected int contentVersion;
+    protected int measuredVersion = -1;
+    protected int measuredWidthSpec;
+    protected int measuredHeight;
+
+    protected PageHolder(View page, int viewType) {
+        this.page = page;
+        this.viewType = viewType;
+
+        icon = (ImageView) page.findViewById(R.id.swipeselector_content_icon);
+        title = (TextView) page.findViewById(R.id.swipeselector_content_title);
+        description = (TextView) page.findViewById(R.id.swipeselector_content_description);
+
+        page.setTag(this);
+    }
+
+    protected void cancelIconRequest() {
+        if (iconRequest != null) {
+            iconRequest.cancel();
+            iconRequest = null;
+        }
+    }
+
+    /**
+     * Shows an icon from {@link IconLoader}'s cache, making a Drawable
+     * for it only if it isn't the one this page already had.
+     */
+    protected void setIcon(IconLoader.Icon loaded) {
+        if (loaded == null) {
+            icon.setImageDrawable(null);
+            return;
+        }
+
+        if (loadedIcon != loaded) {
+            loadedIcon = loaded;
+            loadedIconDrawable = loaded.newDrawable(page.getResources());
+        }
+
+        icon.setImageDrawable(loadedIconDrawable);
+    }
+
+    @Override
+    public void onIconLoaded(IconLoader.Icon loaded) {
+        iconRequest = null;
+        setIcon(loaded);
+        contentVersion++;
+    }
+
+    /**
+     * @param widthMeasureSpec the width the page is measured with
+     * @return the height the page had last time it was measured with the
+     * same width and content, or -1 if it has to be measured again.
+     */
+    protected int getCachedHeight(int widthMeasureSpec) {
+        return measuredVersion == contentVersion && measuredWidthSpec == widthMeasureSpec
+                ? measuredHeight : -1;
+    }
+
+    protected void setCachedHeight(int widthMeasureSpec, int height) {
+        measuredVersion = contentVersion;
+        measuredWidthSpec = widthMeasureSpec;
+        measuredHeight = height;
+    }
+
+    protected static PageHolder of(View page) {
+        return (PageHolder) page.getTag();
+    }
+}
@@ -0,0 +1,228 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.SparseIntArray;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import java.util.ArrayList;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Inflates selector layouts and pages ahead of time while the main thread
+ * is idle, and parks them until a SwipeSelector using the same Context
+ * needs them. Only one Context is kept at a time, so prewarming for a new
+ * screen drops whatever was left over from the previous one.
+ * <p/>
+ * The views hold onto the Context they were inflated with, so when that
+ * is an Activity, everything is dropped as soon as the Activity is
+ * destroyed. Before API 14 there's no way to find out when that happens,
+ * so Activities aren't prewarmed for at all there.
+ * <p/>
+ * Everything here runs on the main thread.
+ */
+class PagePrewarmer implements MessageQueue.IdleHandler {
+    private static PagePrewarmer sInstance;
+    private static int sUsedCount;
+
+    private final Context mContext;
+    private final ArrayList<View> mShells = new ArrayList<>();
+    private final PageRecycler mPages = new PageRecycler();
+
+    // Clears everything when the Activity behind mContext is destroyed,
+    // or null if the Context isn't tied to an Activity.
+    private final ActivityWatcher mWatcher;
+
+    private int mPendingShells;
+    private final SparseIntArray mPendingPages = new SparseIntArray();
+    private boolean mScheduled;
+
+    private PagePrewarmer(Context context, Activity activity) {
+        mContext = context;
+        mPages.setMaxRecycledPages(Integer.MAX_VALUE);
+        mWatcher = activity != null ? new ActivityWatcher(activity) : null;
+    }
+
+    protected static void prewarm(Context context, int shells, int pages, int viewType) {
+        Activity activity = findActivity(context);
+
+        if (activity != null && Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            return;
+        }
+
+        if (sInstance == null || sInstance.mContext != context) {
+            clear();
+            sInstance = new PagePrewarmer(context, activity);
+        }
+
+        sInstance.mPendingShells += shells;
+        sInstance.mPendingPages.put(viewType, sInstance.mPendingPages.get(viewType) + pages);
+        sInstance.schedule();
+    }
+
+    protected static View takeShell(Context context) {
+        if (sInstance == null || sInstance.mContext != context || sInstance.mShells.isEmpty()) {
+            return null;
+        }
+
+        sUsedCount++;
+        return sInstance.mShells.remove(sInstance.mShells.size() - 1);
+    }
+
+    protected static View takePage(Context context, int viewType) {
+        if (sInstance == null || sInstance.mContext != context) {
+            return null;
+        }
+
+        View page = sInstance.mPages.get(viewType);
+
+        if (page != null) {
+            sUsedCount++;
+        }
+
+        return page;
+    }
+
+    protected static int getUsedCount() {
+        return sUsedCount;
+    }
+
+    protected static void clear() {
+        if (sInstance != null) {
+            sInstance.mPendingShells = 0;
+            sInstance.mPendingPages.clear();
+            sInstance.mShells.clear();
+            sInstance.mPages.clear();
+
+            if (sInstance.mWatcher != null) {
+                sInstance.mWatcher.stop();
+            }
+
+            sInstance = null;
+        }
+    }
+
+    private static Activity findActivity(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+
+        return null;
+    }
+
+    /**
+     * Inflates one layout per idle callback, so a big prewarm request
+     * never blocks a frame for longer than a single inflation.
+     */
+    @Override
+    public boolean queueIdle() {
+        if (sInstance != this) {
+            mScheduled = false;
+            return false;
+        }
+
+        LayoutInflater inflater = LayoutInflater.from(mContext);
+
+        if (mPendingShells > 0) {
+            mShells.add(inflater.inflate(R.layout.swipeselector_layout, null));
+            mPendingShells--;
+        } else if (mPendingPages.size() > 0) {
+            int viewType = mPendingPages.keyAt(0);
+            int remaining = mPendingPages.valueAt(0);
+
+            mPages.put(viewType, View.inflate(mContext, SwipeAdapter.getPageLayout(viewType), null));
+
+            if (remaining > 1) {
+                mPendingPages.put(viewType, remaining - 1);
+            } else {
+                mPendingPages.removeAt(0);
+            }
+        }
+
+        mScheduled = mPendingShells > 0 || mPendingPages.size() > 0;
+        return mScheduled;
+    }
+
+    private void schedule() {
+        if (!mScheduled) {
+            mScheduled = true;
+            Looper.myQueue().addIdleHandler(this);
+        }
+    }
+
+    /**
+     * Its own class, so it isn't loaded before API 14.
+     */
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private static class ActivityWatcher implements Application.ActivityLifecycleCallbacks {
+        private final Activity mActivity;
+
+        private ActivityWatcher(Activity activity) {
+            mActivity = activity;
+            activity.getApplication().registerActivityLifecycleCallbacks(this);
+        }
+
+        private void stop() {
+            mActivity.getApplication().unregisterActivityLifecycleCallbacks(this);
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+            if (activity == mActivity) {
+                clear();
+            }
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+        }
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.util.SparseArray;
+import android.view.View;
+
+import java.util.ArrayList;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+class PageRecycler {
+    /**
+     * The view types, one for each page layout.
+     */
+    protected static final int VIEW_TYPE_CENTER = 0;
+    protected static final int VIEW_TYPE_LEFT = 1;
+    protected static final int VIEW_TYPE_RIGHT = 2;
+
+    // ViewPager keeps the current page and one page on each side
+    // attached by default, so three per type is plenty.
+    protected static final int DEFAULT_MAX_RECYCLED_PAGES = 3;
+
+    private final SparseArray<ArrayList<View>> mScrap = new SparseArray<>();
+    private int mMaxScrap = DEFAULT_MAX_RECYCLED_PAGES;
+
+    private int mHitCount;
+    private int mMissCount;
+
+    /**
+     * Takes a recycled page of the given view type out of the pool.
+     *
+     * @param viewType the view type of the wanted page
+     * @return a detached page ready for rebinding, or null if there
+     * was nothing to recycle and a new one has to be inflated.
+     */
+    protected View get(int viewType) {
+        ArrayList<View> scrap = mScrap.get(viewType);
+
+        if (scrap == null || scrap.isEmpty()) {
+            mMissCount++;
+            return null;
+        }
+
+        mHitCount++;
+        return scrap.remove(scrap.size() - 1);
+    }
+
+    /**
+     * Puts a detached page back into the pool. If the pool for this
+     * view type is already full, the page is simply dropped.
+     *
+     * @param viewType the view type of the page
+     * @param page the page, already removed from its parent
+     */
+    protected void put(int viewType, View page) {
+        ArrayList<View> scrap = mScrap.get(viewType);
+
+        if (scrap == null) {
+            scrap = new ArrayList<>(DEFAULT_MAX_RECYCLED_PAGES);
+            mScrap.put(viewType, scrap);
+        }
+
+        if (scrap.size() < mMaxScrap) {
+            scrap.add(page);
+        }
+    }
+
+    /**
+     * @param max how many pages of each view type to keep at most
+     */
+    protected void setMaxRecycledPages(int max) {
+        mMaxScrap = max;
+        trim();
+    }
+
+    /**
+     * For pages that were recycled somewhere else, so they're still
+     * counted here.
+     */
+    protected void recordHit() {
+        mHitCount++;
+    }
+
+    protected void recordMiss() {
+        mMissCount++;
+    }
+
+    protected int getHitCount() {
+        return mHitCount;
+    }
+
+    protected int getMissCount() {
+        return mMissCount;
+    }
+
+    protected void clear() {
+        mScrap.clear();
+    }
+
+    private void trim() {
+        for (int i = 0; i < mScrap.size(); i++) {
+            ArrayList<View> scrap = mScrap.valueAt(i);
+
+            while (scrap.size() > mMaxScrap) {
+                scrap.remove(scrap.size() - 1);
+            }
+        }
+    }
+}
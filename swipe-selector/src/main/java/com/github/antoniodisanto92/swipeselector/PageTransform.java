@@ -0,0 +1,69 @@
+package com.github.antoniodisanto92.swipeselector;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Works out the render properties of a page for a {@link SwipeTransition}.
+ * Kept free of any Android classes, and reused for every page and frame so
+ * scrolling doesn't allocate anything.
+ */
+class PageTransform {
+    private static final float MIN_SCALE = 0.85f;
+    private static final float MIN_DEPTH_SCALE = 0.75f;
+
+    protected float alpha;
+    protected float scale;
+
+    // In page widths, so it doesn't depend on the size of the pager.
+    protected float translationX;
+
+    /**
+     * @param transition the transition to use
+     * @param position where the page is compared to the center of the
+     * pager, in page widths: 0 is centered, -1 is one page to the left
+     * and 1 is one page to the right.
+     */
+    protected void compute(SwipeTransition transition, float position) {
+        alpha = 1;
+        scale = 1;
+        translationX = 0;
+
+        float distance = Math.min(Math.abs(position), 1);
+
+        switch (transition) {
+            case FADE:
+                alpha = 1 - distance;
+                break;
+            case SCALE:
+                scale = 1 - (1 - MIN_SCALE) * distance;
+                break;
+            case DEPTH:
+                if (position <= 0) {
+                    // The page on the left slides away like it normally does.
+                    break;
+                }
+
+                alpha = 1 - distance;
+                scale = MIN_DEPTH_SCALE + (1 - MIN_DEPTH_SCALE) * (1 - distance);
+                translationX = -Math.min(position, 1);
+                break;
+            default:
+                break;
+        }
+    }
+}
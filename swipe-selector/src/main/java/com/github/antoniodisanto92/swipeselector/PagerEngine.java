@@ -0,0 +1,89 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.support.v4.view.ViewPager;
+import android.view.View;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * The view that actually shows and swipes the pages. SwipeAdapter does the
+ * rest: the items, the selection, the indicators and the buttons.
+ * <p/>
+ * Page changes are reported through a {@link ViewPager.OnPageChangeListener}
+ * no matter what the engine is built on, so the adapter doesn't have to care.
+ */
+interface PagerEngine {
+    /**
+     * The engine built on the support library ViewPager, the default.
+     */
+    int VIEW_PAGER = 0;
+
+    /**
+     * The engine built on a horizontal RecyclerView.
+     */
+    int RECYCLER_VIEW = 1;
+
+    /**
+     * @return the pager view, whose children are the pages.
+     */
+    View getView();
+
+    void setAdapter(SwipeAdapter adapter);
+
+    void addOnPageChangeListener(ViewPager.OnPageChangeListener listener);
+
+    void setCurrentItem(int position, boolean animate);
+
+    int getCurrentItem();
+
+    /**
+     * Hands every page back to the adapter for recycling, so the pages for
+     * a whole new set of items can be bound from them. The adapter has no
+     * items while this is called.
+     */
+    void detachPages();
+
+    void notifyDataSetChanged();
+
+    void notifyItemInserted(int position);
+
+    void notifyItemRemoved(int position);
+
+    void notifyItemMoved(int fromPosition, int toPosition);
+
+    void notifyItemRangeChanged(int startPosition, int count);
+
+    /**
+     * @param page one of the pages
+     * @return where the page is compared to the center of the pager, in
+     * page widths: 0 is centered, -1 is one page to the left.
+     */
+    float getPagePosition(View page);
+
+    void setMaxRecycledPages(int max);
+
+    void setHeightProvider(WrappingPager.HeightProvider heightProvider);
+
+    void setMetricsListener(SwipeMetricsListener listener);
+
+    int getMeasurePassCount();
+
+    int getChildMeasureCount();
+
+    void resetMeasureCounts();
+}
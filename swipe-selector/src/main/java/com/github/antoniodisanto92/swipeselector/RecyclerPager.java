@@ -0,0 +1,249 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.content.Context;
+import android.support.v4.os.TraceCompat;
+import android.support.v4.view.ViewPager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.LinearSnapHelper;
+import android.support.v7.widget.RecyclerView;
+import android.util.AttributeSet;
+import android.view.View;
+
+import java.util.ArrayList;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * A horizontal RecyclerView that swipes one page at a time and reports
+ * its page changes like a ViewPager would, to every
+ * {@link ViewPager.OnPageChangeListener} added to it.
+ * <p/>
+ * Like {@link WrappingPager}, it's as tall as the tallest page it has laid
+ * out, or taller if there's a {@link WrappingPager.HeightProvider}. Pages
+ * should be MATCH_PARENT wide, so exactly one of them fits in the pager.
+ */
+public class RecyclerPager extends RecyclerView {
+    private final LinearLayoutManager mLayoutManager;
+    private final PageSnapHelper mSnapHelper = new PageSnapHelper();
+
+    private final ArrayList<ViewPager.OnPageChangeListener> mListeners = new ArrayList<>();
+    private WrappingPager.HeightProvider mHeightProvider;
+    private SwipeMetricsListener mMetricsListener;
+    private int mCurrentItem;
+
+    // The page a fling or setCurrentItem() is scrolling to, if any.
+    private int mTargetItem = NO_POSITION;
+
+    private int mMeasurePassCount;
+    private int mChildMeasureCount;
+
+    public RecyclerPager(Context context) {
+        this(context, null);
+    }
+
+    public RecyclerPager(Context context, AttributeSet attrs) {
+        super(context, attrs);
+
+        mLayoutManager = new LinearLayoutManager(context, LinearLayoutManager.HORIZONTAL, false) {
+            @Override
+            public void measureChildWithMargins(View child, int widthUsed, int heightUsed) {
+                mChildMeasureCount++;
+                super.measureChildWithMargins(child, widthUsed, heightUsed);
+            }
+        };
+
+        setLayoutManager(mLayoutManager);
+        mSnapHelper.attachToRecyclerView(this);
+        addOnScrollListener(new PageScrollListener());
+    }
+
+    void addOnPageChangeListener(ViewPager.OnPageChangeListener listener) {
+        mListeners.add(listener);
+    }
+
+    void removeOnPageChangeListener(ViewPager.OnPageChangeListener listener) {
+        mListeners.remove(listener);
+    }
+
+    void setHeightProvider(WrappingPager.HeightProvider heightProvider) {
+        mHeightProvider = heightProvider;
+        requestLayout();
+    }
+
+    void setMetricsListener(SwipeMetricsListener listener) {
+        mMetricsListener = listener;
+    }
+
+    public void setCurrentItem(int position, boolean smoothScroll) {
+        Adapter adapter = getAdapter();
+
+        if (adapter == null || adapter.getItemCount() == 0) {
+            return;
+        }
+
+        position = Math.max(0, Math.min(position, adapter.getItemCount() - 1));
+
+        if (smoothScroll && position != mCurrentItem) {
+            // Selected once it starts settling, like a fling.
+            mTargetItem = position;
+            smoothScrollToPosition(position);
+        } else {
+            stopScroll();
+            mLayoutManager.scrollToPositionWithOffset(position, 0);
+            selectPage(position);
+        }
+    }
+
+    public int getCurrentItem() {
+        return mCurrentItem;
+    }
+
+    /**
+     * @return how many times this pager has been measured.
+     */
+    public int getMeasurePassCount() {
+        return mMeasurePassCount;
+    }
+
+    /**
+     * @return how many times a page has been measured.
+     */
+    public int getChildMeasureCount() {
+        return mChildMeasureCount;
+    }
+
+    public void resetMeasureCounts() {
+        mMeasurePassCount = 0;
+        mChildMeasureCount = 0;
+    }
+
+    @Override
+    protected void onMeasure(int widthSpec, int heightSpec) {
+        TraceCompat.beginSection("SwipeSelector.measure");
+        long start = mMetricsListener != null ? System.nanoTime() : 0;
+        mMeasurePassCount++;
+
+        try {
+            super.onMeasure(widthSpec, heightSpec);
+
+            if (mHeightProvider != null) {
+                int height = mHeightProvider.getMinimumHeight(widthSpec);
+
+                if (height > getMeasuredHeight()) {
+                    setMeasuredDimension(getMeasuredWidth(), resolveSize(height, heightSpec));
+                }
+            }
+        } finally {
+            if (mMetricsListener != null) {
+                mMetricsListener.onPagerMeasured(System.nanoTime() - start);
+            }
+
+            TraceCompat.endSection();
+        }
+    }
+
+    private void selectPage(int position) {
+        if (position == mCurrentItem || position == NO_POSITION) {
+            return;
+        }
+
+        mCurrentItem = position;
+
+        for (int i = 0; i < mListeners.size(); i++) {
+            mListeners.get(i).onPageSelected(position);
+        }
+    }
+
+    /**
+     * @return the position of the page that covers most of the pager.
+     */
+    private int findCenteredPosition() {
+        View page = mSnapHelper.findSnapView(mLayoutManager);
+        return page != null ? mLayoutManager.getPosition(page) : NO_POSITION;
+    }
+
+    private class PageScrollListener extends OnScrollListener {
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            // RecyclerView and ViewPager use the same values for the states.
+            // Like ViewPager, the page is selected after the pager starts
+            // settling, but before it becomes idle.
+            if (newState == SCROLL_STATE_IDLE) {
+                mTargetItem = NO_POSITION;
+                selectPage(findCenteredPosition());
+            }
+
+            for (int i = 0; i < mListeners.size(); i++) {
+                mListeners.get(i).onPageScrollStateChanged(newState);
+            }
+
+            if (newState == SCROLL_STATE_SETTLING) {
+                // Flings and setCurrentItem() pick their own page, otherwise
+                // we settle on whichever page covers most of the pager.
+                int target = mTargetItem;
+                mTargetItem = NO_POSITION;
+                selectPage(target != NO_POSITION ? target : findCenteredPosition());
+            }
+        }
+
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            int position = mLayoutManager.findFirstVisibleItemPosition();
+            View page = mLayoutManager.findViewByPosition(position);
+            int pageWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+
+            if (page == null || pageWidth == 0 || mListeners.isEmpty()) {
+                return;
+            }
+
+            int offsetPixels = getPaddingLeft() - page.getLeft();
+            float offset = (float) offsetPixels / pageWidth;
+
+            for (int i = 0; i < mListeners.size(); i++) {
+                mListeners.get(i).onPageScrolled(position, offset, offsetPixels);
+            }
+        }
+    }
+
+    /**
+     * Snaps to the page in the center like LinearSnapHelper, but a fling
+     * only ever moves one page, just like in a ViewPager.
+     */
+    private class PageSnapHelper extends LinearSnapHelper {
+        @Override
+        public int findTargetSnapPosition(LayoutManager layoutManager, int velocityX, int velocityY) {
+            int current = findCenteredPosition();
+
+            if (current == NO_POSITION) {
+                return NO_POSITION;
+            }
+
+            int target = velocityX > 0 ? current + 1 : current - 1;
+
+            // The page in the center might already be the next one, if the
+            // user dragged it more than halfway before flinging.
+            View page = layoutManager.findViewByPosition(current);
+            if (page != null && (velocityX > 0) == (page.getLeft() < getPaddingLeft())) {
+                target = current;
+            }
+
+            mTargetItem = Math.max(0, Math.min(target, layoutManager.getItemCount() - 1));
+            return mTargetItem;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.v4.view.ViewPager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * The engine built on {@link RecyclerPager}. Pages are recycled per view
+ * type by the RecyclerView, changes to single items only touch their own
+ * pages, and the pages next to the current one are created ahead of time
+ * while the main thread is idle.
+ */
+class RecyclerPagerEngine implements PagerEngine, MessageQueue.IdleHandler {
+    private final RecyclerPager mPager;
+    private final PageAdapter mPageAdapter = new PageAdapter();
+    private SwipeAdapter mAdapter;
+
+    private boolean mPrefetchScheduled;
+
+    // True when the pool can't keep any pages, so prefetching is pointless.
+    private boolean mPoolDisabled;
+
+    protected RecyclerPagerEngine(RecyclerPager pager) {
+        mPager = pager;
+        mPager.setHasFixedSize(false);
+
+        // ViewPager keeps the page on each side around, so we do too.
+        mPager.setItemViewCacheSize(2);
+        mPager.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    schedulePrefetch();
+                }
+            }
+        });
+    }
+
+    @Override
+    public View getView() {
+        return mPager;
+    }
+
+    @Override
+    public void setAdapter(SwipeAdapter adapter) {
+        mAdapter = adapter;
+        mPager.setAdapter(mPageAdapter);
+    }
+
+    @Override
+    public void addOnPageChangeListener(ViewPager.OnPageChangeListener listener) {
+        mPager.addOnPageChangeListener(listener);
+    }
+
+    @Override
+    public void setCurrentItem(int position, boolean animate) {
+        mPager.setCurrentItem(position, animate);
+
+        if (!animate) {
+            schedulePrefetch();
+        }
+    }
+
+    @Override
+    public int getCurrentItem() {
+        return mPager.getCurrentItem();
+    }
+
+    @Override
+    public void detachPages() {
+        // The next layout after notifyDataSetChanged() recycles every page
+        // before binding the new ones anyway.
+    }
+
+    @Override
+    public void notifyDataSetChanged() {
+        mPageAdapter.notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyItemInserted(int position) {
+        mPageAdapter.notifyItemInserted(position);
+    }
+
+    @Override
+    public void notifyItemRemoved(int position) {
+        mPageAdapter.notifyItemRemoved(position);
+    }
+
+    @Override
+    public void notifyItemMoved(int fromPosition, int toPosition) {
+        mPageAdapter.notifyItemMoved(fromPosition, toPosition);
+    }
+
+    @Override
+    public void notifyItemRangeChanged(int startPosition, int count) {
+        mPageAdapter.notifyItemRangeChanged(startPosition, count);
+    }
+
+    @Override
+    public float getPagePosition(View page) {
+        int pageWidth = mPager.getWidth() - mPager.getPaddingLeft() - mPager.getPaddingRight();
+
+        if (pageWidth == 0) {
+            return 0;
+        }
+
+        return (float) (page.getLeft() - mPager.getPaddingLeft()) / pageWidth;
+    }
+
+    @Override
+    public void setMaxRecycledPages(int max) {
+        RecyclerView.RecycledViewPool pool = mPager.getRecycledViewPool();
+        pool.setMaxRecycledViews(PageRecycler.VIEW_TYPE_CENTER, max);
+        pool.setMaxRecycledViews(PageRecycler.VIEW_TYPE_LEFT, max);
+        pool.setMaxRecycledViews(PageRecycler.VIEW_TYPE_RIGHT, max);
+        mPoolDisabled = max <= 0;
+    }
+
+    @Override
+    public void setHeightProvider(WrappingPager.HeightProvider heightProvider) {
+        mPager.setHeightProvider(heightProvider);
+    }
+
+    @Override
+    public void setMetricsListener(SwipeMetricsListener listener) {
+        mPager.setMetricsListener(listener);
+    }
+
+    @Override
+    public int getMeasurePassCount() {
+        return mPager.getMeasurePassCount();
+    }
+
+    @Override
+    public int getChildMeasureCount() {
+        return mPager.getChildMeasureCount();
+    }
+
+    @Override
+    public void resetMeasureCounts() {
+        mPager.resetMeasureCounts();
+    }
+
+    private void schedulePrefetch() {
+        if (!mPrefetchScheduled) {
+            mPrefetchScheduled = true;
+            Looper.myQueue().addIdleHandler(this);
+        }
+    }
+
+    /**
+     * Makes sure there's a page in the pool for the items on each side of
+     * the current one, so the next swipe only has to bind it. Only one page
+     * is created per idle callback, so a frame never waits for more than a
+     * single inflation.
+     */
+    @Override
+    public boolean queueIdle() {
+        mPrefetchScheduled = prefetch(mPager.getCurrentItem() + 1)
+                || prefetch(mPager.getCurrentItem() - 1);
+        return mPrefetchScheduled;
+    }
+
+    /**
+     * @return true if a page was created and kept in the pool, so there
+     * might be more to do.
+     */
+    private boolean prefetch(int position) {
+        if (mAdapter == null || mPoolDisabled || position < 0 || position >= mAdapter.getCount()
+                || mPager.findViewHolderForAdapterPosition(position) != null) {
+            return false;
+        }
+
+        int viewType = mPageAdapter.getItemViewType(position);
+        RecyclerView.RecycledViewPool pool = mPager.getRecycledViewPool();
+        RecyclerView.ViewHolder pooled = pool.getRecycledView(viewType);
+
+        if (pooled != null) {
+            pool.putRecycledView(pooled);
+            return false;
+        }
+
+        RecyclerView.ViewHolder created = mPageAdapter.createViewHolder(mPager, viewType);
+        pool.putRecycledView(created);
+
+        // A full pool drops the page, and trying again on the next idle
+        // would just inflate another one forever.
+        RecyclerView.ViewHolder kept = pool.getRecycledView(viewType);
+
+        if (kept != null) {
+            pool.putRecycledView(kept);
+        }
+
+        return kept == created;
+    }
+
+    private static class PageViewHolder extends RecyclerView.ViewHolder {
+        private final PageHolder holder;
+
+        private PageViewHolder(PageHolder holder) {
+            super(holder.page);
+            this.holder = holder;
+        }
+    }
+
+    private class PageAdapter extends RecyclerView.Adapter<PageViewHolder> {
+        @Override
+        public int getItemCount() {
+            return mAdapter != null ? mAdapter.getCount() : 0;
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            return mAdapter.getPageViewType(position);
+        }
+
+        @Override
+        public PageViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            PageHolder holder = mAdapter.onCreatePage(viewType);
+            holder.page.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+            return new PageViewHolder(holder);
+        }
+
+        @Override
+        public void onBindViewHolder(PageViewHolder viewHolder, int position) {
+            mAdapter.onBindPage(viewHolder.holder, position);
+        }
+
+        @Override
+        public void onViewRecycled(PageViewHolder viewHolder) {
+            mAdapter.onPageRecycled(viewHolder.holder);
+        }
+    }
+}
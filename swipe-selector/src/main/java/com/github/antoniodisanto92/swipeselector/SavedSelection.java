@@ -0,0 +1,85 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.os.Bundle;
+import android.util.Log;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Saves a small fingerprint of the items next to the selected position, so
+ * a restore can tell the items have changed in the meantime instead of
+ * selecting whatever item happens to be at that position now.
+ * <p/>
+ * The fingerprint is the number of items and a hash of the selected value.
+ * Only values whose hash is the same in every process are hashed, anything
+ * else is trusted as long as the number of items matches.
+ */
+class SavedSelection {
+    private static final String TAG = "SwipeSelector";
+
+    private static final String STATE_ITEM_COUNT = "STATE_ITEM_COUNT";
+    private static final String STATE_SELECTED_HASH = "STATE_SELECTED_HASH";
+
+    /**
+     * @param state where the selected position is saved
+     * @param count how many items there are
+     * @param selected the selected item, or null if there isn't one
+     * or it isn't loaded.
+     */
+    protected static void save(Bundle state, int count, SwipeItem selected) {
+        state.putInt(STATE_ITEM_COUNT, count);
+
+        if (selected != null && hasStableHash(selected.value)) {
+            state.putInt(STATE_SELECTED_HASH, hash(selected));
+        }
+    }
+
+    /**
+     * @param state the saved state
+     * @param count how many items there are now
+     * @param item the item at the saved position now, or null if it
+     * isn't loaded and can't be checked.
+     * @return true if the saved position can be restored.
+     */
+    protected static boolean matches(Bundle state, int count, SwipeItem item) {
+        boolean matches = state.getInt(STATE_ITEM_COUNT, count) == count
+                && (item == null || !state.containsKey(STATE_SELECTED_HASH)
+                || (hasStableHash(item.value) && state.getInt(STATE_SELECTED_HASH) == hash(item)));
+
+        if (!matches) {
+            Log.w(TAG, "The items have changed since the state was saved, "
+                    + "so the saved selection isn't restored.");
+        }
+
+        return matches;
+    }
+
+    private static boolean hasStableHash(Object value) {
+        return value instanceof String || SwipeItem.isId(value);
+    }
+
+    private static int hash(SwipeItem item) {
+        if (item.hasId()) {
+            // The same for an Integer and a Long with the same number.
+            long id = item.id();
+            return (int) (id ^ (id >>> 32));
+        }
+
+        return item.value.hashCode();
+    }
+}
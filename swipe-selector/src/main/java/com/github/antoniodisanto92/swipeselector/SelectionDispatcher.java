@@ -0,0 +1,132 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import java.util.concurrent.Executor;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Delivers the selection to an {@link OnSwipeSelectionChangeListener}:
+ * every change right away, and the settled item only once the pager is
+ * idle and has stayed that way for the debounce delay.
+ * <p/>
+ * Everything here, apart from the listener itself when there's an
+ * Executor, runs on the main thread.
+ */
+class SelectionDispatcher implements Runnable {
+    private final OnSwipeSelectionChangeListener mListener;
+    private final long mDebounceMillis;
+    private final Executor mExecutor;
+
+    // Where the listener was last told the selection settled, and the
+    // value of the item there. Item stores that don't keep their items
+    // around hand out a new SwipeItem for the same position every time,
+    // so the item itself can't tell whether it's the same one. Without a
+    // value the position alone has to do, which is fine since the settled
+    // selection is reset whenever the items change.
+    private int mSettledPosition = -1;
+    private Object mSettledValue;
+
+    // The item that's waiting for the debounce delay to pass.
+    private SwipeItem mPendingItem;
+    private int mPendingPosition;
+
+    protected SelectionDispatcher(OnSwipeSelectionChangeListener listener, long debounceMillis,
+                                  Executor executor) {
+        mListener = listener;
+        mDebounceMillis = debounceMillis;
+        mExecutor = executor;
+    }
+
+    protected void onChanging(SwipeItem item) {
+        mListener.onSelectionChanging(item);
+    }
+
+    /**
+     * The pager is idle on the given item.
+     */
+    protected void settle(int position, SwipeItem item) {
+        cancel();
+
+        if (item == null || isSettled(position, item)) {
+            return;
+        }
+
+        mPendingItem = item;
+        mPendingPosition = position;
+
+        if (mDebounceMillis > 0) {
+            SwipeExecutors.mainDelayed(this, mDebounceMillis);
+        } else {
+            run();
+        }
+    }
+
+    /**
+     * The pager started scrolling again, so whatever was about to settle
+     * didn't.
+     */
+    protected void cancel() {
+        if (mPendingItem != null) {
+            mPendingItem = null;
+            SwipeExecutors.cancelMain(this);
+        }
+    }
+
+    /**
+     * The given item is selected now without the user doing anything, so
+     * it shouldn't be reported as settled either.
+     * @param position the selected position, or -1 if there are no items
+     * @param item the item there, or null if it's still being loaded, in
+     * which case whatever gets loaded there counts as the same item.
+     */
+    protected void reset(int position, SwipeItem item) {
+        cancel();
+        mSettledPosition = position;
+        mSettledValue = item != null ? item.value : null;
+    }
+
+    private boolean isSettled(int position, SwipeItem item) {
+        return position == mSettledPosition
+                && (mSettledValue == null || mSettledValue.equals(item.value));
+    }
+
+    @Override
+    public void run() {
+        final SwipeItem item = mPendingItem;
+
+        if (item == null) {
+            return;
+        }
+
+        mPendingItem = null;
+        mSettledPosition = mPendingPosition;
+        mSettledValue = item.value;
+
+        if (mExecutor == null) {
+            mListener.onSelectionSettled(item);
+            return;
+        }
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                mListener.onSelectionSettled(item);
+            }
+        });
+    }
+}
@@ -0,0 +1,188 @@
+package com.github.antoniodisanto92.swipeselector;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * What's selected and what the left and right buttons should show, apart
+ * from the views. SwipeAdapter keeps this up to date and asks it instead
+ * of working it out by itself.
+ * <p/>
+ * This is plain Java on purpose, along with {@link KeyIndex} and
+ * {@link LongIntMap}, so the benchmark module can run it on a regular JVM.
+ * Keep anything from Android out of here.
+ */
+class SelectionModel {
+    // What happened to a button when the selection moved.
+    protected static final int BUTTON_UNCHANGED = 0;
+    protected static final int BUTTON_SHOWN = 1;
+    protected static final int BUTTON_HIDDEN = 2;
+
+    /**
+     * Finds items by their value.
+     */
+    interface Lookup {
+        /**
+         * @param value the value to look for
+         * @return the position of the first loaded item with the value,
+         * or -1 if there isn't one.
+         */
+        int indexOfValue(Object value);
+
+        /**
+         * @param id the whole number value to look for
+         * @return the position of the first loaded item with the value,
+         * or -1 if there isn't one.
+         */
+        int indexOfId(long id);
+    }
+
+    private Lookup mLookup;
+    private int mCount;
+    private int mPosition;
+
+    // The left button starts hidden, since the first item is selected.
+    private boolean mLeftButtonVisible;
+    private boolean mRightButtonVisible = true;
+
+    /**
+     * Switches to a new set of items.
+     *
+     * @param lookup for finding the new items by their value
+     * @param count how many items there are
+     * @param position the position to select, which is moved inside
+     * the items if it isn't.
+     */
+    protected void setItems(Lookup lookup, int count, int position) {
+        mLookup = lookup;
+        mCount = count;
+        mPosition = Math.max(0, Math.min(position, count - 1));
+    }
+
+    protected int getCount() {
+        return mCount;
+    }
+
+    protected int getPosition() {
+        return mPosition;
+    }
+
+    /**
+     * @param position the position that's now selected
+     * @return true if it wasn't selected already.
+     */
+    protected boolean select(int position) {
+        if (position == mPosition) {
+            return false;
+        }
+
+        mPosition = position;
+        return true;
+    }
+
+    protected boolean hasPrevious() {
+        return mPosition >= 1;
+    }
+
+    protected boolean hasNext() {
+        return mPosition < mCount - 1;
+    }
+
+    protected void checkPosition(int position) {
+        if (position < 0 || position >= mCount) {
+            throw new IndexOutOfBoundsException("This SwipeSelector does " +
+                    "not have an item at position " + position + ".");
+        }
+    }
+
+    protected int indexOfValue(Object value) {
+        return mLookup != null ? mLookup.indexOfValue(value) : -1;
+    }
+
+    protected int indexOfId(long id) {
+        return mLookup != null ? mLookup.indexOfId(id) : -1;
+    }
+
+    /**
+     * @return the position of the item with the value.
+     * @throws IllegalArgumentException if there isn't one.
+     */
+    protected int requireIndexOfValue(Object value) {
+        int position = indexOfValue(value);
+
+        if (position == -1) {
+            throw new IllegalArgumentException("This SwipeSelector " +
+                    "does not have an item with the given value "
+                    + value.toString() + ".");
+        }
+
+        return position;
+    }
+
+    /**
+     * @return the position of the item with the whole number value.
+     * @throws IllegalArgumentException if there isn't one.
+     */
+    protected int requireIndexOfId(long id) {
+        int position = indexOfId(id);
+
+        if (position == -1) {
+            throw new IllegalArgumentException("This SwipeSelector " +
+                    "does not have an item with the given value " + id + ".");
+        }
+
+        return position;
+    }
+
+    /**
+     * @param position the selected position
+     * @return one of the BUTTON_ constants. A hidden button is hidden
+     * again every time, in case it was just being faded in.
+     */
+    protected int updateLeftButton(int position) {
+        if (position < 1) {
+            mLeftButtonVisible = false;
+            return BUTTON_HIDDEN;
+        }
+
+        if (mLeftButtonVisible) {
+            return BUTTON_UNCHANGED;
+        }
+
+        mLeftButtonVisible = true;
+        return BUTTON_SHOWN;
+    }
+
+    /**
+     * @param position the selected position
+     * @return one of the BUTTON_ constants, like
+     * {@link #updateLeftButton(int)}.
+     */
+    protected int updateRightButton(int position) {
+        if (position == mCount - 1) {
+            mRightButtonVisible = false;
+            return BUTTON_HIDDEN;
+        }
+
+        if (mRightButtonVisible) {
+            return BUTTON_UNCHANGED;
+        }
+
+        mRightButtonVisible = true;
+        return BUTTON_SHOWN;
+    }
+}
@@ -0,0 +1,291 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Works out on the background thread how tall the tallest page would be,
+ * by laying out the text of every item with StaticLayouts and looking up
+ * the icon sizes without decoding the icons, the same way the page layouts
+ * would size them.
+ * <p/>
+ * Items aren't touched: the main thread fills in their fields while it
+ * shows them, so the task gets {@link ItemSnapshot}s instead, and looks
+ * up their resources without storing the results.
+ */
+class StableHeightTask implements Runnable {
+    interface Callback {
+        /**
+         * Called on the main thread, unless the task was cancelled.
+         * @param task the task that finished
+         * @param height the height of the tallest page
+         */
+        void onStableHeightComputed(StableHeightTask task, int height);
+    }
+
+    protected final int width;
+    protected final int itemsVersion;
+
+    private final Context mContext;
+    private final List<ItemSnapshot> mItems;
+    private final TextPaint mTitlePaint;
+    private final TextPaint mDescriptionPaint;
+    private final PageMargins[] mMargins;
+    private final Callback mCallback;
+
+    private final int mContentWidth;
+    private final int mVerticalPadding;
+    private final int mMaxIconHeight;
+
+    private volatile boolean mCancelled;
+    private Future<?> mFuture;
+
+    /**
+     * @param width the width of the pager
+     * @param itemsVersion identifies the items, for telling whether the
+     * result is still valid
+     * @param items the items, see {@link #snapshot(List)}
+     * @param titlePaint a paint the task can have to itself
+     * @param descriptionPaint same here
+     * @param margins the margins of each page layout, by view type
+     * @param contentWidth the width left for the content of a page
+     * @param verticalPadding the top and bottom padding of a page
+     * @param maxIconHeight the maxHeight of the icons in the page layouts
+     */
+    protected StableHeightTask(Context context, int width, int itemsVersion, List<ItemSnapshot> items,
+                               TextPaint titlePaint, TextPaint descriptionPaint, PageMargins[] margins,
+                               int contentWidth, int verticalPadding, int maxIconHeight,
+                               Callback callback) {
+        this.width = width;
+        this.itemsVersion = itemsVersion;
+
+        mContext = context;
+        mItems = items;
+        mTitlePaint = titlePaint;
+        mDescriptionPaint = descriptionPaint;
+        mMargins = margins;
+        mCallback = callback;
+
+        mContentWidth = contentWidth;
+        mVerticalPadding = verticalPadding;
+        mMaxIconHeight = maxIconHeight;
+    }
+
+    /**
+     * Copies what the task needs from the items, on the main thread.
+     */
+    protected static List<ItemSnapshot> snapshot(List<SwipeItem> items) {
+        ArrayList<ItemSnapshot> snapshots = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            snapshots.add(new ItemSnapshot(items.get(i)));
+        }
+
+        return snapshots;
+    }
+
+    /**
+     * For items that are created for the task as it goes and nobody else
+     * sees, like the ones of CompactItemStore, which would take a lot of
+     * copying up front for nothing.
+     */
+    protected static List<ItemSnapshot> snapshotLazily(final List<SwipeItem> items) {
+        return new AbstractList<ItemSnapshot>() {
+            @Override
+            public ItemSnapshot get(int position) {
+                return new ItemSnapshot(items.get(position));
+            }
+
+            @Override
+            public int size() {
+                return items.size();
+            }
+        };
+    }
+
+    protected void start() {
+        mFuture = SwipeExecutors.background(this);
+    }
+
+    protected void cancel() {
+        mCancelled = true;
+
+        if (mFuture != null) {
+            mFuture.cancel(false);
+        }
+    }
+
+    @Override
+    public void run() {
+        // Lots of items tend to share a handful of icons.
+        SparseArray<int[]> iconSizes = new SparseArray<>();
+        int maxHeight = 0;
+
+        for (int i = 0; i < mItems.size() && !mCancelled; i++) {
+            maxHeight = Math.max(maxHeight, measure(mItems.get(i), iconSizes));
+        }
+
+        if (mCancelled) {
+            return;
+        }
+
+        final int height = maxHeight;
+
+        SwipeExecutors.main(new Runnable() {
+            @Override
+            public void run() {
+                if (!mCancelled) {
+                    mCallback.onStableHeightComputed(StableHeightTask.this, height);
+                }
+            }
+        });
+    }
+
+    private int measure(ItemSnapshot item, SparseArray<int[]> iconSizes) {
+        CharSequence title = item.titleRes != -1 ? mContext.getString(item.titleRes) : item.title;
+        CharSequence description = item.descriptionRes != -1
+                ? mContext.getString(item.descriptionRes) : item.description;
+
+        // The pages show the icon resource if there is one, see bindPage().
+        boolean hasIcon = item.iconRes != -1 || item.hasIcon;
+        int iconWidth = 0;
+        int iconHeight = 0;
+
+        if (item.iconRes != -1) {
+            // Only the size matters here, so the pixels aren't decoded.
+            int[] size = iconSizes.get(item.iconRes);
+
+            if (size == null) {
+                size = new int[2];
+                IconLoader.getIntrinsicSize(mContext, item.iconRes, size);
+                iconSizes.put(item.iconRes, size);
+            }
+
+            iconWidth = size[0];
+            iconHeight = Math.min(size[1], mMaxIconHeight);
+        } else if (item.hasIcon) {
+            iconWidth = item.iconWidth;
+            iconHeight = Math.min(item.iconHeight, mMaxIconHeight);
+        }
+
+        int viewType = SwipeAdapter.getItemViewType(item.iconGravity);
+        PageMargins margins = mMargins[viewType];
+        boolean iconOnSide = viewType != PageRecycler.VIEW_TYPE_CENTER;
+        int textWidth = iconOnSide && hasIcon
+                ? mContentWidth - iconWidth - margins.iconHorizontal : mContentWidth;
+
+        // The title is there even without any text, one line tall.
+        int textHeight = textHeight(title != null ? title : "", mTitlePaint, textWidth)
+                + margins.titleVertical;
+
+        if (description != null) {
+            textHeight += margins.descriptionVertical
+                    + textHeight(description, mDescriptionPaint, textWidth);
+        }
+
+        int contentHeight;
+
+        if (!hasIcon) {
+            contentHeight = textHeight;
+        } else if (iconOnSide) {
+            contentHeight = Math.max(iconHeight + margins.iconVertical, textHeight);
+        } else {
+            contentHeight = iconHeight + margins.iconVertical + textHeight;
+        }
+
+        return contentHeight + mVerticalPadding;
+    }
+
+    private static int textHeight(CharSequence text, TextPaint paint, int width) {
+        if (width <= 0) {
+            return 0;
+        }
+
+        return new StaticLayout(text, paint, width, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true).getHeight();
+    }
+
+    /**
+     * The fields of an item the task needs, copied on the main thread.
+     */
+    static class ItemSnapshot {
+        private final CharSequence title;
+        private final CharSequence description;
+        private final int titleRes;
+        private final int descriptionRes;
+        private final int iconRes;
+        private final SwipeIconGravity iconGravity;
+
+        // The size of the icon Drawable, if there's one.
+        private final boolean hasIcon;
+        private final int iconWidth;
+        private final int iconHeight;
+
+        protected ItemSnapshot(SwipeItem item) {
+            title = item.title;
+            description = item.description;
+            titleRes = item.titleRes;
+            descriptionRes = item.descriptionRes;
+            iconRes = item.iconRes;
+            iconGravity = item.iconGravity;
+
+            Drawable icon = item.icon;
+            hasIcon = icon != null;
+            iconWidth = icon != null ? icon.getIntrinsicWidth() : 0;
+            iconHeight = icon != null ? icon.getIntrinsicHeight() : 0;
+        }
+    }
+
+    /**
+     * The margins around the icon and the text in one of the page layouts,
+     * read from an inflated page so they're the same as the layout has.
+     */
+    static class PageMargins {
+        private final int iconHorizontal;
+        private final int iconVertical;
+        private final int titleVertical;
+        private final int descriptionVertical;
+
+        protected PageMargins(PageHolder holder) {
+            ViewGroup.MarginLayoutParams icon = getMargins(holder.icon);
+            ViewGroup.MarginLayoutParams title = getMargins(holder.title);
+            ViewGroup.MarginLayoutParams description = getMargins(holder.description);
+
+            iconHorizontal = icon.leftMargin + icon.rightMargin;
+            iconVertical = icon.topMargin + icon.bottomMargin;
+            titleVertical = title.topMargin + title.bottomMargin;
+            descriptionVertical = description.topMargin + description.bottomMargin;
+        }
+
+        private static ViewGroup.MarginLayoutParams getMargins(View view) {
+            return (ViewGroup.MarginLayoutParams) view.getLayoutParams();
+        }
+    }
+}
@@ -3,21 +3,25 @@ package com.github.antoniodisanto92.swipeselector;
 import android.animation.ObjectAnimator;
 import android.content.Context;
 import android.graphics.Typeface;
-import android.graphics.drawable.ShapeDrawable;
+import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Bundle;
-import android.support.v4.content.ContextCompat;
+import android.support.v4.os.TraceCompat;
 import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewCompat;
 import android.support.v4.view.ViewPager;
+import android.text.TextPaint;
+import android.util.SparseArray;
 import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /*
  * SwipeSelector library for Android
@@ -35,26 +39,26 @@ import java.util.Arrays;
  *    See the License for the specific language governing permissions and
  *    limitations under the License.
  */
-class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPager.OnPageChangeListener {
+class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPager.OnPageChangeListener,
+        ItemStore.Listener, WrappingPager.HeightProvider, StableHeightTask.Callback, TypefaceCache.Callback {
     private static final String STATE_CURRENT_POSITION = "STATE_CURRENT_POSITION";
-    private static final String TAG_CIRCLE = "TAG_CIRCLE";
 
-    // For the left and right buttons when they're not visible
-    private static final String TAG_HIDDEN = "TAG_HIDDEN";
+    // What onItemsChanged() tells the engine about.
+    private static final int CHANGE_ALL = 0;
+    private static final int CHANGE_INSERTED = 1;
+    private static final int CHANGE_REMOVED = 2;
+    private static final int CHANGE_MOVED = 3;
+    private static final int CHANGE_UPDATED = 4;
 
     private final Context mContext;
 
-    private final ViewPager mViewPager;
-    private final ViewGroup mIndicatorContainer;
-
-    private final LinearLayout.LayoutParams mCircleParams;
-    private final ShapeDrawable mInActiveCircleDrawable;
-    private final ShapeDrawable mActiveCircleDrawable;
+    private final PagerEngine mEngine;
+    private final IndicatorView mIndicator;
 
     private Typeface mCustomTypeFace;
     private final int mTitleTextAppearance;
     private final int mDescriptionTextAppearance;
-    private final int mDescriptionGravity;
+    private final int mDefaultDescriptionGravity;
 
     private final ImageView mLeftButton;
     private final ImageView mRightButton;
@@ -63,57 +67,101 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
     private final int mContentLeftPadding;
     private final int mContentRightPadding;
 
-    private OnSwipeItemSelectedListener mOnItemSelectedListener;
-    private ArrayList<SwipeItem> mItems;
-    private int mCurrentPosition;
+    // Same as the maxHeight of the icon in the page layouts.
+    private final int mMaxIconHeight;
+    private final Drawable mIconPlaceholder;
+
+    private final PageRecycler mRecycler = new PageRecycler();
+
+    // The pager holds the pages right next to the selected one, so the
+    // text of the ones after those is warmed up ahead of the next swipe.
+    private static final int WARM_TEXT_DISTANCE = 2;
 
-    private SwipeAdapter(ViewPager viewPager, ViewGroup indicatorContainer, int indicatorSize, int indicatorMargin,
-                         int inActiveIndicatorColor, int activeIndicatorColor, int leftButtonResource, int rightButtonResource,
-                         ImageView leftButton, ImageView rightButton, String customFontPath, int titleTextAppearance, int descriptionTextAppearance,
-                         int descriptionGravity) {
-        mContext = viewPager.getContext();
+    // How tall the warmed up text came out, by position, so the pages
+    // for it can skip being measured, see predictPageHeight().
+    private final SparseArray<TextLayoutCache.WarmedText> mWarmedText = new SparseArray<>();
 
-        mViewPager = viewPager;
-        mViewPager.addOnPageChangeListener(this);
+    // Bumped whenever the items change, so a stable height computed
+    // for the old ones isn't used for the new ones.
+    private int mItemsVersion;
 
-        mIndicatorContainer = indicatorContainer;
-        mCircleParams = new LinearLayout.LayoutParams(indicatorSize, indicatorSize);
-        mCircleParams.leftMargin = indicatorMargin;
+    private boolean mStableHeightEnabled;
+    private int mStableHeight;
+    private int mStableHeightWidth = -1;
+    private int mStableHeightVersion = -1;
+    private StableHeightTask mStableHeightTask;
+    private StableHeightTask.PageMargins[] mPageMargins;
+    private TextPaint mTitlePaint;
+    private TextPaint mDescriptionPaint;
 
-        mInActiveCircleDrawable = Indicator.newOne(
-                indicatorSize, inActiveIndicatorColor);
-        mActiveCircleDrawable = Indicator.newOne(
-                indicatorSize, activeIndicatorColor);
+    private SwipeTransition mTransition;
+    private final PageTransform mTransform = new PageTransform();
 
+    private OnSwipeItemSelectedListener mOnItemSelectedListener;
+    private SelectionDispatcher mSelectionDispatcher;
+    private int mScrollState = ViewPager.SCROLL_STATE_IDLE;
+    private ItemStore mStore;
+    private final SelectionModel mSelection = new SelectionModel();
+
+    // The selected item wasn't loaded yet when it was selected, so the
+    // listener gets notified once it is.
+    private boolean mSelectionPending;
+
+    // An item that was changed in place, so its page has to be rebound
+    // even though it's still the same object.
+    private SwipeItem mChangedItem;
+
+    // Null unless someone wants the numbers, and then the pages put on
+    // and taken off the pager are counted from one time it stops to the
+    // next, whether they were inflated or recycled.
+    private SwipeMetricsListener mMetricsListener;
+    private int mPagesCreated;
+    private int mPagesDestroyed;
+
+    private SwipeAdapter(PagerEngine engine, IndicatorView indicator, ImageView leftButton,
+                         ImageView rightButton, SwipeStyle style) {
+        mContext = engine.getView().getContext();
+
+        mEngine = engine;
+        mEngine.addOnPageChangeListener(this);
+
+        mIndicator = indicator;
+        mIndicator.setStyle(style.indicatorSize, style.indicatorMargin,
+                style.inActiveIndicatorColor, style.activeIndicatorColor);
+
+        String customFontPath = style.customFontPath;
         if (customFontPath != null &&
                 ((Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && !customFontPath.isEmpty())
                         || customFontPath.length() > 0)) {
-            mCustomTypeFace = Typeface.createFromAsset(mContext.getAssets(),
-                    customFontPath);
+            // Null if the font is still being warmed up, in which case
+            // onTypefaceLoaded() applies it once it's ready.
+            mCustomTypeFace = TypefaceCache.get(mContext, customFontPath, this);
         }
 
-        mTitleTextAppearance = titleTextAppearance;
-        mDescriptionTextAppearance = descriptionTextAppearance;
-        mDescriptionGravity = getGravity(descriptionGravity);
+        mTitleTextAppearance = style.titleTextAppearance;
+        mDescriptionTextAppearance = style.descriptionTextAppearance;
+        int gravity = getGravity(style.descriptionGravity);
+        mDefaultDescriptionGravity = gravity != -1 ? gravity : Gravity.CENTER;
 
         mLeftButton = leftButton;
-        mLeftButton.setImageResource(leftButtonResource);
+        mLeftButton.setImageDrawable(style.newLeftButton(mContext));
 
         mRightButton = rightButton;
-        mRightButton.setImageResource(rightButtonResource);
+        mRightButton.setImageDrawable(style.newRightButton(mContext));
 
-        // Calculate paddings for the content so the left and right buttons
-        // don't overlap.
+        // The paddings for the content, so the left and right buttons
+        // don't overlap, come with the style.
         mSweetSixteen = (int) PixelUtils.dpToPixel(mContext, 16);
-        mContentLeftPadding = ContextCompat.getDrawable(mContext, leftButtonResource)
-                .getIntrinsicWidth() + mSweetSixteen;
-        mContentRightPadding = ContextCompat.getDrawable(mContext, rightButtonResource)
-                .getIntrinsicWidth() + mSweetSixteen;
+        mContentLeftPadding = style.contentLeftPadding;
+        mContentRightPadding = style.contentRightPadding;
+
+        mMaxIconHeight = (int) PixelUtils.dpToPixel(mContext, 80);
+        mIconPlaceholder = style.newIconPlaceholder(mContext);
+        mTransition = SwipeTransition.values()[style.transition];
 
         mLeftButton.setOnClickListener(this);
         mRightButton.setOnClickListener(this);
 
-        mLeftButton.setTag(TAG_HIDDEN);
         mLeftButton.setClickable(false);
 
         setAlpha(0.0f, mLeftButton);
@@ -127,311 +175,647 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
      * At least that's my opinion. But my opinions are always right.
      */
     protected static class Builder {
-        private ViewPager viewPager;
-        private ViewGroup indicatorContainer;
-
-        private int indicatorSize;
-        private int indicatorMargin;
-        private int inActiveIndicatorColor;
-        private int activeIndicatorColor;
-
-        private int leftButtonResource;
-        private int rightButtonResource;
+        private PagerEngine engine;
+        private IndicatorView indicator;
 
         private ImageView leftButton;
         private ImageView rightButton;
 
-        private String customFontPath;
-        private int titleTextAppearance;
-        private int descriptionTextAppearance;
-        private int descriptionGravity;
+        private SwipeStyle style;
 
         protected Builder() {
         }
 
-        protected Builder viewPager(ViewPager viewPager) {
-            this.viewPager = viewPager;
+        protected Builder engine(PagerEngine engine) {
+            this.engine = engine;
             return this;
         }
 
-        protected Builder indicatorContainer(ViewGroup indicatorContainer) {
-            this.indicatorContainer = indicatorContainer;
+        protected Builder indicator(IndicatorView indicator) {
+            this.indicator = indicator;
             return this;
         }
 
-        protected Builder indicatorSize(int indicatorSize) {
-            this.indicatorSize = indicatorSize;
+        protected Builder leftButton(ImageView leftButton) {
+            this.leftButton = leftButton;
             return this;
         }
 
-        protected Builder indicatorMargin(int indicatorMargin) {
-            this.indicatorMargin = indicatorMargin;
+        protected Builder rightButton(ImageView rightButton) {
+            this.rightButton = rightButton;
             return this;
         }
 
-        protected Builder inActiveIndicatorColor(int inActiveIndicatorColor) {
-            this.inActiveIndicatorColor = inActiveIndicatorColor;
+        protected Builder style(SwipeStyle style) {
+            this.style = style;
             return this;
         }
 
-        protected Builder activeIndicatorColor(int activeIndicatorColor) {
-            this.activeIndicatorColor = activeIndicatorColor;
-            return this;
+        protected SwipeAdapter build() {
+            return new SwipeAdapter(engine,
+                    indicator,
+                    leftButton,
+                    rightButton,
+                    style
+            );
         }
+    }
 
-        protected Builder leftButtonResource(int leftButtonResource) {
-            this.leftButtonResource = leftButtonResource;
-            return this;
+    /**
+     * Protected methods used by SwipeSelector
+     */
+    protected void setOnItemSelectedListener(OnSwipeItemSelectedListener listener) {
+        mOnItemSelectedListener = listener;
+    }
+
+    protected void setOnSelectionChangeListener(OnSwipeSelectionChangeListener listener,
+                                                long debounceMillis, Executor executor) {
+        if (mSelectionDispatcher != null) {
+            mSelectionDispatcher.cancel();
         }
 
-        protected Builder rightButtonResource(int rightButtonResource) {
-            this.rightButtonResource = rightButtonResource;
-            return this;
+        mSelectionDispatcher = listener != null
+                ? new SelectionDispatcher(listener, debounceMillis, executor) : null;
+        resetSettledSelection();
+    }
+
+    protected void setMetricsListener(SwipeMetricsListener listener) {
+        mMetricsListener = listener;
+        mPagesCreated = 0;
+        mPagesDestroyed = 0;
+    }
+
+    protected void setItems(SwipeItem... items) {
+        TraceCompat.beginSection("SwipeSelector.setItems");
+        long start = startTiming();
+
+        try {
+            // String and Drawable resources are resolved per item when
+            // they're first needed, see SwipeItem#resolve(Context).
+            setStore(new ListItemStore(new ArrayList<>(Arrays.asList(items))));
+        } finally {
+            onItemsSet(start);
         }
+    }
 
-        protected Builder leftButton(ImageView leftButton) {
-            this.leftButton = leftButton;
-            return this;
+    protected void setItems(CompactSwipeItems items) {
+        TraceCompat.beginSection("SwipeSelector.setItems");
+        long start = startTiming();
+
+        try {
+            setStore(new CompactItemStore(items));
+        } finally {
+            onItemsSet(start);
         }
+    }
 
-        protected Builder rightButton(ImageView rightButton) {
-            this.rightButton = rightButton;
-            return this;
+    /**
+     * Like setItems(), but keeps the pages and the selection of the items
+     * that are still there. Items are matched by their value.
+     */
+    protected void updateItems(SwipeItem... items) {
+        if (!(mStore instanceof ListItemStore)) {
+            setItems(items);
+            return;
         }
 
-        protected Builder customFontPath(String customFontPath) {
-            this.customFontPath = customFontPath;
-            return this;
+        SwipeItem selected = getCount() > 0 ? mStore.get(mSelection.getPosition()) : null;
+        ((ListItemStore) mStore).setItems(new ArrayList<>(Arrays.asList(items)));
+        onItemsChanged(selected, CHANGE_ALL, 0, 0);
+    }
+
+    protected void insertItem(int position, SwipeItem item) {
+        ListItemStore store = requireListStore();
+
+        if (position < 0 || position > getCount()) {
+            throw new IndexOutOfBoundsException("Can't insert an item " +
+                    "at position " + position + ".");
         }
 
-        protected Builder titleTextAppearance(int titleTextAppearance) {
-            this.titleTextAppearance = titleTextAppearance;
-            return this;
+        SwipeItem selected = getCount() > 0 ? mStore.get(mSelection.getPosition()) : null;
+        store.insert(position, item);
+        onItemsChanged(selected != null ? selected : item, CHANGE_INSERTED, position, 0);
+    }
+
+    protected void removeItemAt(int position) {
+        ListItemStore store = requireListStore();
+        mSelection.checkPosition(position);
+
+        SwipeItem selected = mStore.get(mSelection.getPosition());
+        store.remove(position);
+        onItemsChanged(position == mSelection.getPosition() ? null : selected, CHANGE_REMOVED, position, 0);
+    }
+
+    protected void moveItem(int fromPosition, int toPosition) {
+        ListItemStore store = requireListStore();
+        mSelection.checkPosition(fromPosition);
+        mSelection.checkPosition(toPosition);
+
+        SwipeItem selected = mStore.get(mSelection.getPosition());
+        store.move(fromPosition, toPosition);
+        onItemsChanged(selected, CHANGE_MOVED, fromPosition, toPosition);
+    }
+
+    protected void updateItem(int position, SwipeItem item) {
+        ListItemStore store = requireListStore();
+        mSelection.checkPosition(position);
+
+        SwipeItem selected = mStore.get(mSelection.getPosition());
+        store.set(position, item);
+        mChangedItem = item;
+        onItemsChanged(position == mSelection.getPosition() ? item : selected, CHANGE_UPDATED, position, 0);
+    }
+
+    /**
+     * Shows a whole new set of items at the given position, like a list row
+     * being bound to another line. The pages are rebound instead of being
+     * inflated, nothing is animated and the listener isn't notified.
+     */
+    protected void bind(SwipeItem[] items, int position) {
+        ItemStore store = mStore;
+        ArrayList<SwipeItem> list = new ArrayList<>(Arrays.asList(items));
+
+        if (store instanceof ListItemStore) {
+            ((ListItemStore) store).setItems(list);
+        } else {
+            if (store != null) {
+                store.release();
+            }
+
+            store = new ListItemStore(list);
         }
 
-        protected Builder descriptionTextAppearance(int descriptionTextAppearance) {
-            this.descriptionTextAppearance = descriptionTextAppearance;
-            return this;
+        // Every page goes back to the recycler while there are no items,
+        // so the pages for the new ones are bound from them.
+        mStore = null;
+        mEngine.detachPages();
+        mStore = store;
+
+        mSelectionPending = false;
+        mChangedItem = null;
+
+        int count = getCount();
+        mSelection.setItems(mStore, count, position);
+        mStore.onPositionChanged(mSelection.getPosition());
+        onItemsVersionChanged();
+
+        mIndicator.setCount(count);
+        mIndicator.setPosition(mSelection.getPosition(), 0);
+        mEngine.notifyDataSetChanged();
+        resetSettledSelection();
+
+        if (count == 0) {
+            return;
         }
 
-        protected Builder descriptionGravity(int descriptionGravity) {
-            this.descriptionGravity = descriptionGravity;
-            return this;
+        mEngine.setCurrentItem(mSelection.getPosition(), false);
+        handleLeftButtonVisibility(mSelection.getPosition(), false);
+        handleRightButtonVisibility(mSelection.getPosition(), false);
+    }
+
+    /**
+     * Stops everything that's still being done for the current items, and
+     * keeps the pages around for the next bind().
+     *
+     * @return the selected position, for binding the same items again later.
+     */
+    protected int unbind() {
+        cancelStableHeight();
+        mSelectionPending = false;
+
+        // A settled selection that's still waiting out its delay belongs
+        // to the row that's going away, not to whatever gets bound next.
+        if (mSelectionDispatcher != null) {
+            mSelectionDispatcher.cancel();
         }
 
-        protected SwipeAdapter build() {
-            return new SwipeAdapter(viewPager,
-                    indicatorContainer,
-                    indicatorSize,
-                    indicatorMargin,
-                    inActiveIndicatorColor,
-                    activeIndicatorColor,
-                    leftButtonResource,
-                    rightButtonResource,
-                    leftButton,
-                    rightButton,
-                    customFontPath,
-                    titleTextAppearance,
-                    descriptionTextAppearance,
-                    descriptionGravity
-            );
+        ViewGroup pager = (ViewGroup) mEngine.getView();
+        for (int i = 0; i < pager.getChildCount(); i++) {
+            releasePage(PageHolder.of(pager.getChildAt(i)));
         }
+
+        return mSelection.getPosition();
+    }
+
+    protected void setDataSource(SwipeDataSource dataSource) {
+        setStore(new WindowedItemStore(dataSource, this));
+    }
+
+    protected SwipeItem getSelectedItem() {
+        SwipeItem item = mStore.get(mSelection.getPosition());
+
+        if (item != null) {
+            item.resolve(mContext);
+            item.resolveIcon(mContext, mMaxIconHeight);
+        }
+
+        return item;
+    }
+
+    protected void selectItemAt(int position, boolean animate) {
+        mSelection.checkPosition(position);
+        mEngine.setCurrentItem(position, animate);
+    }
+
+    protected int findPositionByValue(Object value) {
+        return mSelection.indexOfValue(value);
+    }
+
+    protected int findPositionById(long id) {
+        return mSelection.indexOfId(id);
+    }
+
+    protected void selectItemWithId(long id, boolean animate) {
+        mEngine.setCurrentItem(mSelection.requireIndexOfId(id), animate);
     }
 
     /**
-     * Protected methods used by SwipeSelector
+     * @return the value of the selected item as a primitive, or
+     * SwipeSelector.NO_ID if it isn't a whole number or isn't loaded.
      */
-    protected void setOnItemSelectedListener(OnSwipeItemSelectedListener listener) {
-        mOnItemSelectedListener = listener;
+    protected long getSelectedItemId() {
+        SwipeItem item = mStore.get(mSelection.getPosition());
+        return item != null && item.hasId() ? item.id() : SwipeSelector.NO_ID;
     }
 
-    protected void setItems(SwipeItem... items) {
-        // If there are SwipeItems constructed using String resources
-        // instead of Strings, loop through all of them and get the
-        // Strings.
-        if (SwipeItem.checkForStringResources || SwipeItem.checkForDrawableResources) {
-            ArrayList<SwipeItem> theRealOnes = new ArrayList<>();
-
-            for (SwipeItem item : items) {
-                if (item.titleRes != -1) {
-                    item.title = mContext.getString(item.titleRes);
-                }
-
-                if (item.descriptionRes != -1) {
-                    item.description = mContext.getString(item.descriptionRes);
-                }
-
-                if (item.iconRes != -1) {
-                    item.icon = mContext.getResources().getDrawable(item.iconRes);
-                }
-
-                theRealOnes.add(item);
-            }
+    protected void selectItemWithValue(Object value, boolean animate) {
+        mEngine.setCurrentItem(mSelection.requireIndexOfValue(value), animate);
+    }
+
+    protected void setStableHeightEnabled(boolean enabled) {
+        if (enabled == mStableHeightEnabled) {
+            return;
+        }
 
-            mItems = theRealOnes;
+        mStableHeightEnabled = enabled;
 
-            // reset
-            SwipeItem.checkForStringResources = false;
-        } else {
-            mItems = new ArrayList<>(Arrays.asList(items));
+        if (!enabled) {
+            cancelStableHeight();
+            mStableHeight = 0;
+            mStableHeightWidth = -1;
+            mStableHeightVersion = -1;
         }
 
-        mCurrentPosition = 0;
-        setActiveIndicator(0);
-        notifyDataSetChanged();
+        mEngine.setHeightProvider(enabled ? this : null);
     }
 
-    protected SwipeItem getSelectedItem() {
-        return mItems.get(mCurrentPosition);
-    }
+    /**
+     * The height of the tallest page among all the items, once it's been
+     * computed for the current width and items. Until then, the one for
+     * the previous width or items is used, which is still closer than
+     * nothing.
+     */
+    @Override
+    public int getMinimumHeight(int widthMeasureSpec) {
+        int width = View.MeasureSpec.getSize(widthMeasureSpec);
 
-    protected void selectItemAt(int position, boolean animate) {
-        if (position < 0 || position >= mItems.size()) {
-            throw new IndexOutOfBoundsException("This SwipeSelector does " +
-                    "not have an item at position " + position + ".");
+        if (width == mStableHeightWidth && mItemsVersion == mStableHeightVersion) {
+            return mStableHeight;
         }
 
-        mViewPager.setCurrentItem(position, animate);
+        if (mStableHeightTask == null || mStableHeightTask.width != width
+                || mStableHeightTask.itemsVersion != mItemsVersion) {
+            cancelStableHeight();
+
+            ensureTextPaints();
+
+            // The background thread gets its own copies of everything.
+            // CompactItemStore makes new items for every call, so those
+            // are safe to read over there.
+            List<StableHeightTask.ItemSnapshot> items;
+
+            if (mStore == null) {
+                items = new ArrayList<>();
+            } else if (mStore instanceof CompactItemStore) {
+                items = StableHeightTask.snapshotLazily(mStore.getLoadedItems());
+            } else {
+                items = StableHeightTask.snapshot(mStore.getLoadedItems());
+            }
+
+            mStableHeightTask = new StableHeightTask(mContext, width, mItemsVersion, items,
+                    new TextPaint(mTitlePaint), new TextPaint(mDescriptionPaint), getPageMargins(),
+                    width - mContentLeftPadding - mContentRightPadding, mSweetSixteen * 2,
+                    mMaxIconHeight, this);
+            mStableHeightTask.start();
+        }
+
+        return mStableHeight;
     }
 
-    protected void selectItemWithValue(Object value, boolean animate) {
-        boolean itemExists = false;
+    /**
+     * The margins of the page layouts, read from a page of each view type.
+     * Pages on screen are used when there are some, and the ones that get
+     * inflated here go to the recycler for later.
+     */
+    private StableHeightTask.PageMargins[] getPageMargins() {
+        if (mPageMargins != null) {
+            return mPageMargins;
+        }
 
-        for (int i = 0; i < mItems.size(); i++) {
-            if (mItems.get(i).value.equals(value)) {
-                mViewPager.setCurrentItem(i, animate);
-                itemExists = true;
-                break;
+        int[] viewTypes = {PageRecycler.VIEW_TYPE_CENTER, PageRecycler.VIEW_TYPE_LEFT,
+                PageRecycler.VIEW_TYPE_RIGHT};
+        StableHeightTask.PageMargins[] margins = new StableHeightTask.PageMargins[viewTypes.length];
+        ViewGroup pager = (ViewGroup) mEngine.getView();
+
+        for (int i = 0; i < pager.getChildCount(); i++) {
+            PageHolder holder = PageHolder.of(pager.getChildAt(i));
+
+            if (margins[holder.viewType] == null) {
+                margins[holder.viewType] = new StableHeightTask.PageMargins(holder);
             }
         }
 
-        if (!itemExists) {
-            throw new IllegalArgumentException("This SwipeSelector " +
-                    "does not have an item with the given value "
-                    + value.toString() + ".");
+        for (int viewType : viewTypes) {
+            if (margins[viewType] == null) {
+                PageHolder holder = createPage(viewType);
+                margins[viewType] = new StableHeightTask.PageMargins(holder);
+                mRecycler.put(viewType, holder.page);
+            }
         }
+
+        mPageMargins = margins;
+        return margins;
     }
 
-    protected Bundle onSaveInstanceState() {
-        Bundle bundle = new Bundle();
-        bundle.putInt(STATE_CURRENT_POSITION, mCurrentPosition);
-        return bundle;
+    @Override
+    public void onStableHeightComputed(StableHeightTask task, int height) {
+        if (task != mStableHeightTask) {
+            return;
+        }
+
+        mStableHeightTask = null;
+        mStableHeightWidth = task.width;
+        mStableHeightVersion = task.itemsVersion;
+
+        if (height != mStableHeight) {
+            mStableHeight = height;
+            mEngine.getView().requestLayout();
+        }
     }
 
-    protected void onRestoreInstanceState(Bundle state) {
-        mViewPager.setCurrentItem(state.getInt(STATE_CURRENT_POSITION), false);
-        notifyDataSetChanged();
+    private void ensureTextPaints() {
+        if (mTitlePaint == null) {
+            mTitlePaint = TextAppearanceUtils.newPaint(mContext, mTitleTextAppearance != -1
+                    ? mTitleTextAppearance : R.style.TextAppearance_AppCompat_Body2, mCustomTypeFace);
+            mDescriptionPaint = TextAppearanceUtils.newPaint(mContext, mDescriptionTextAppearance != -1
+                    ? mDescriptionTextAppearance : R.style.TextAppearance_AppCompat_Caption, mCustomTypeFace);
+        }
     }
 
     /**
-     * Override methods / listeners
+     * Lays out the text of the pages that the next swipe in either direction
+     * will bring in on the background thread, so measuring them on the main
+     * thread mostly hits the platform's text caches.
      */
-    @Override
-    public Object instantiateItem(ViewGroup container, int position) {
-        SwipeItem slideItem = mItems.get(position);
-        LinearLayout layout = null;
+    private void warmTextAround(int position) {
+        int width = mEngine.getView().getWidth() - mContentLeftPadding - mContentRightPadding;
 
-        switch (slideItem.iconGravity) {
-            case CENTER:
-            case DEFAULT:
-                layout = (LinearLayout) View.inflate(mContext, R.layout.swipeselector_content_item, null);
-                break;
-            case LEFT:
-                layout = (LinearLayout) View.inflate(mContext, R.layout.swipeselector_content_left_item, null);
-                break;
-            case RIGHT:
-                layout = (LinearLayout) View.inflate(mContext, R.layout.swipeselector_content_right_item, null);
-                break;
+        // Not laid out yet, the first pages are measured right away anyway.
+        if (width <= 0) {
+            return;
         }
 
-        // GET VIEW
-        ImageView icon = (ImageView) layout.findViewById(R.id.swipeselector_content_icon);
-        TextView title = (TextView) layout.findViewById(R.id.swipeselector_content_title);
-        TextView description = (TextView) layout.findViewById(R.id.swipeselector_content_description);
+        // The pages that were warmed up before have been bound by now.
+        for (int i = mWarmedText.size() - 1; i >= 0; i--) {
+            if (Math.abs(mWarmedText.keyAt(i) - position) > WARM_TEXT_DISTANCE) {
+                mWarmedText.removeAt(i);
+            }
+        }
 
-        // SET VIEW
-        title.setText(slideItem.title);
+        ensureTextPaints();
+        warmText(position - WARM_TEXT_DISTANCE, width);
+        warmText(position + WARM_TEXT_DISTANCE, width);
+    }
 
-        if (slideItem.description == null) {
-            description.setVisibility(View.GONE);
-        } else {
-            description.setVisibility(View.VISIBLE);
-            description.setText(slideItem.description);
+    private void warmText(final int position, int width) {
+        if (position < 0 || position >= getCount()) {
+            return;
         }
 
-        if (slideItem.icon == null) {
-            icon.setVisibility(View.GONE);
-        } else {
-            icon.setImageDrawable(slideItem.icon);
-            icon.setVisibility(View.VISIBLE);
+        SwipeItem item = mStore.get(position);
+
+        if (item == null) {
+            return;
         }
 
-        // We shouldn't get here if the typeface didn't exist.
-        // But just in case, because we're paranoid.
-        if (mCustomTypeFace != null) {
-            title.setTypeface(mCustomTypeFace);
-            description.setTypeface(mCustomTypeFace);
+        item.resolve(mContext);
+
+        final int itemsVersion = mItemsVersion;
+        TextLayoutCache.warm(item.title, mTitlePaint, item.description, mDescriptionPaint, width,
+                new TextLayoutCache.WarmCallback() {
+                    @Override
+                    public void onTextWarmed(TextLayoutCache.WarmedText text) {
+                        if (itemsVersion == mItemsVersion) {
+                            mWarmedText.put(position, text);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * A centered page with just text, which is most of them, is exactly
+     * as tall as its padding, its text and the margins around that. So
+     * when warmTextAround() already laid out the same text for it, the
+     * height goes straight into the page's cache and WrappingPager doesn't
+     * have to measure the page for it. The other layouts, and pages with
+     * an icon, are measured as usual.
+     */
+    private void predictPageHeight(PageHolder holder, SwipeItem item) {
+        TextLayoutCache.WarmedText text = mWarmedText.get(holder.position);
+
+        if (text == null || holder.viewType != PageRecycler.VIEW_TYPE_CENTER
+                || holder.icon.getVisibility() != View.GONE) {
+            return;
         }
 
-        if (mTitleTextAppearance != -1) {
-            setTextAppearanceCompat(title, mTitleTextAppearance);
+        View page = holder.page;
+        int width = mEngine.getView().getWidth();
+
+        if (!text.matches(item.title, mTitlePaint, item.description, mDescriptionPaint,
+                width - page.getPaddingLeft() - page.getPaddingRight())) {
+            return;
         }
 
-        if (mDescriptionTextAppearance != -1) {
-            setTextAppearanceCompat(description, mDescriptionTextAppearance);
+        int height = page.getPaddingTop() + page.getPaddingBottom()
+                + text.titleHeight + getVerticalMargins(holder.title);
+
+        if (holder.description.getVisibility() != View.GONE) {
+            height += text.descriptionHeight + getVerticalMargins(holder.description);
         }
 
-        switch (slideItem.titleGravity) {
-            case DEFAULT:
-            case CENTER:
-                title.setGravity(Gravity.CENTER);
-                break;
-            case LEFT:
-                title.setGravity(Gravity.START);
-                break;
-            case RIGHT:
-                title.setGravity(Gravity.END);
-                break;
+        holder.setCachedHeight(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY), height);
+    }
+
+    private static int getVerticalMargins(View view) {
+        ViewGroup.MarginLayoutParams params = (ViewGroup.MarginLayoutParams) view.getLayoutParams();
+        return params.topMargin + params.bottomMargin;
+    }
+
+    private void onItemsVersionChanged() {
+        mItemsVersion++;
+        mWarmedText.clear();
+
+        // The pages might not need a layout, but the stable height does.
+        if (mStableHeightEnabled) {
+            mEngine.getView().requestLayout();
         }
+    }
 
-        switch (slideItem.descriptionGravity) {
-            case DEFAULT:
-                if (mDescriptionGravity != -1) {
-                    description.setGravity(mDescriptionGravity);
-                } else {
-                    description.setGravity(Gravity.CENTER);
-                }
-                break;
-            case CENTER:
-                description.setGravity(Gravity.CENTER);
-                break;
-            case LEFT:
-                description.setGravity(Gravity.START);
-                break;
-            case RIGHT:
-                description.setGravity(Gravity.END);
-                break;
+    private void cancelStableHeight() {
+        if (mStableHeightTask != null) {
+            mStableHeightTask.cancel();
+            mStableHeightTask = null;
         }
+    }
 
-        layout.setPadding(
-                mContentLeftPadding,
-                mSweetSixteen,
-                mContentRightPadding,
-                mSweetSixteen
-        );
+    @Override
+    public void onTypefaceLoaded(Typeface typeface) {
+        if (typeface == null) {
+            return;
+        }
+
+        mCustomTypeFace = typeface;
+
+        // The pages on screen get it now, the rest when they're bound again.
+        ViewGroup pager = (ViewGroup) mEngine.getView();
+        for (int i = 0; i < pager.getChildCount(); i++) {
+            applyTypeface(PageHolder.of(pager.getChildAt(i)));
+        }
+
+        // The paints for warming the text and measuring the stable
+        // height had the wrong font.
+        mTitlePaint = null;
+        mWarmedText.clear();
+
+        if (mStableHeightEnabled) {
+            cancelStableHeight();
+            mStableHeightVersion = -1;
+            mEngine.getView().requestLayout();
+        }
+    }
+
+    protected void setTransition(SwipeTransition transition) {
+        mTransition = transition;
+
+        // Also puts the pages back to normal when switching to NONE.
+        transformPages();
+    }
+
+    protected void setMaxRecycledPages(int max) {
+        mRecycler.setMaxRecycledPages(max);
+        mEngine.setMaxRecycledPages(max);
+    }
 
-        container.addView(layout);
-        return layout;
+    protected int getRecycledPageHitCount() {
+        return mRecycler.getHitCount();
+    }
+
+    protected int getRecycledPageMissCount() {
+        return mRecycler.getMissCount();
+    }
+
+    protected Bundle onSaveInstanceState() {
+        Bundle bundle = new Bundle();
+        bundle.putInt(STATE_CURRENT_POSITION, mSelection.getPosition());
+        SavedSelection.save(bundle, getCount(), getCount() > 0 ? mStore.get(mSelection.getPosition()) : null);
+        return bundle;
+    }
+
+    /**
+     * Jumps straight to the saved position. The pages and the items don't
+     * change, so nothing is refreshed, and the listeners aren't told about
+     * a selection the user already made before.
+     */
+    protected void onRestoreInstanceState(Bundle state) {
+        int position = state.getInt(STATE_CURRENT_POSITION);
+        int count = getCount();
+
+        if (position == mSelection.getPosition() || position < 0 || position >= count
+                || !SavedSelection.matches(state, count, mStore.get(position))) {
+            return;
+        }
+
+        // With the position already up to date, onPageSelected()
+        // has nothing to dispatch when the engine gets there.
+        mSelection.select(position);
+        mStore.onPositionChanged(position);
+        mIndicator.setPosition(position, 0);
+        handleLeftButtonVisibility(position, false);
+        handleRightButtonVisibility(position, false);
+
+        mEngine.setCurrentItem(position, false);
+        resetSettledSelection();
+    }
+
+    /**
+     * Override methods / listeners
+     */
+    @Override
+    public Object instantiateItem(ViewGroup container, int position) {
+        int viewType = getPageViewType(position);
+
+        // Try to rebind a page we've thrown away earlier before
+        // paying for inflating a new one.
+        View page = mRecycler.get(viewType);
+        PageHolder holder = page != null ? PageHolder.of(page) : createPage(viewType);
+
+        mPagesCreated++;
+        bindPageAt(holder, position);
+        container.addView(holder.page);
+        return holder.page;
     }
 
     @Override
     public void destroyItem(ViewGroup container, int position, Object object) {
-        container.removeView((View) object);
+        View page = (View) object;
+        PageHolder holder = PageHolder.of(page);
+
+        container.removeView(page);
+        mPagesDestroyed++;
+        releasePage(holder);
+        mRecycler.put(holder.viewType, page);
+    }
+
+    @Override
+    public int getItemPosition(Object object) {
+        PageHolder holder = PageHolder.of((View) object);
+
+        // Pages that were waiting for their item get rebound once it's here.
+        if (holder.placeholder) {
+            return mStore.get(holder.position) != null ? POSITION_NONE : POSITION_UNCHANGED;
+        }
+
+        int position = mStore.indexOf(holder.item);
+        SwipeItem item = position != -1 ? mStore.get(position) : null;
+
+        // Values don't have to be unique, so the index might point at another
+        // item with the same value while the page's own item is still where
+        // it was. Otherwise two pages would end up at the same position.
+        if (item != holder.item && holder.position >= 0 && holder.position < getCount()
+                && mStore.get(holder.position) == holder.item) {
+            position = holder.position;
+            item = holder.item;
+        }
+
+        // Either the item is gone, or something on it has changed and the
+        // page is outdated. Forgetting the item makes sure the page gets
+        // bound again when it's reused, even for the very same item.
+        if (item == null || holder.item == mChangedItem
+                || (item != holder.item && !item.sameContentAs(holder.item))) {
+            holder.item = null;
+            return POSITION_NONE;
+        }
+
+        int oldPosition = holder.position;
+        holder.item = item;
+        holder.position = position;
+
+        return position == oldPosition ? POSITION_UNCHANGED : position;
     }
 
     @Override
     public int getCount() {
-        return mItems != null ? mItems.size() : 0;
+        return mStore != null ? mStore.size() : 0;
     }
 
     @Override
@@ -444,61 +828,508 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
         if (getCount() == 0) return;
         setActiveIndicator(position);
 
-        handleLeftButtonVisibility(position);
-        handleRightButtonVisibility(position);
+        handleLeftButtonVisibility(position, true);
+        handleRightButtonVisibility(position, true);
+        warmTextAround(position);
     }
 
     @Override
     public void onClick(View v) {
-        if (v.equals(mLeftButton) && mCurrentPosition >= 1) {
-            mViewPager.setCurrentItem(mCurrentPosition - 1, true);
-        } else if (v.equals(mRightButton) && mCurrentPosition <= getCount() - 1) {
-            mViewPager.setCurrentItem(mCurrentPosition + 1, true);
+        if (v.equals(mLeftButton) && mSelection.hasPrevious()) {
+            mEngine.setCurrentItem(mSelection.getPosition() - 1, true);
+        } else if (v.equals(mRightButton) && mSelection.hasNext()) {
+            mEngine.setCurrentItem(mSelection.getPosition() + 1, true);
         }
     }
 
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        TraceCompat.beginSection("SwipeSelector.updateIndicator");
+        long start = startTiming();
+        mIndicator.setPosition(position, positionOffset);
+        onIndicatorUpdated(start);
 
+        if (mTransition != SwipeTransition.NONE) {
+            transformPages();
+        }
     }
 
     @Override
     public void onPageScrollStateChanged(int state) {
+        mScrollState = state;
+
+        if (mMetricsListener != null && state == ViewPager.SCROLL_STATE_IDLE) {
+            mMetricsListener.onSwipeSettled(mPagesCreated, mPagesDestroyed);
+            mPagesCreated = 0;
+            mPagesDestroyed = 0;
+        }
+
+        if (mSelectionDispatcher == null) {
+            return;
+        }
+
+        if (state == ViewPager.SCROLL_STATE_IDLE) {
+            mSelectionDispatcher.settle(mSelection.getPosition(),
+                    getCount() > 0 ? getSelectedItem() : null);
+        } else {
+            mSelectionDispatcher.cancel();
+        }
+    }
+
+    @Override
+    public void onItemsLoaded(int startPosition, int count) {
+        onItemsVersionChanged();
+        mEngine.notifyItemRangeChanged(startPosition, count);
+
+        if (mSelectionPending && mSelection.getPosition() >= startPosition
+                && mSelection.getPosition() < startPosition + count) {
+            mSelectionPending = false;
+            dispatchItemSelected();
+        }
+    }
+
+    /**
+     * Page methods used by the engines. ViewPager goes through
+     * instantiateItem() and destroyItem() instead, which use these too.
+     */
+    protected int getPageViewType(int position) {
+        SwipeItem slideItem = mStore.get(position);
+
+        if (slideItem == null) {
+            return PageRecycler.VIEW_TYPE_CENTER;
+        }
+
+        slideItem.resolve(mContext);
+        return getItemViewType(slideItem.iconGravity);
+    }
+
+    protected PageHolder onCreatePage(int viewType) {
+        mRecycler.recordMiss();
+        return createPage(viewType);
+    }
+
+    /**
+     * RecyclerView only binds a page when it actually has to, so the page
+     * is always bound again, even if it was showing the same item before.
+     */
+    protected void onBindPage(PageHolder holder, int position) {
+        if (holder.contentVersion > 0) {
+            mRecycler.recordHit();
+        }
+
+        mPagesCreated++;
+        holder.item = null;
+        bindPageAt(holder, position);
+    }
+
+    protected void bindPageAt(PageHolder holder, int position) {
+        TraceCompat.beginSection("SwipeSelector.bindPage");
+        long start = startTiming();
+
+        try {
+            bindItemAt(holder, position);
+        } finally {
+            if (mMetricsListener != null) {
+                mMetricsListener.onPageBound(position, System.nanoTime() - start);
+            }
 
+            TraceCompat.endSection();
+        }
+    }
+
+    /**
+     * Called when RecyclerView throws a page away, before it's recycled.
+     */
+    protected void onPageRecycled(PageHolder holder) {
+        mPagesDestroyed++;
+        releasePage(holder);
+    }
+
+    private void bindItemAt(PageHolder holder, int position) {
+        SwipeItem slideItem = mStore.get(position);
+        holder.position = position;
+
+        if (holder.typeface != mCustomTypeFace) {
+            applyTypeface(holder);
+        }
+
+        if (slideItem != null && slideItem == holder.item && slideItem != mChangedItem) {
+            // The page was swiped out and back in again, and still shows
+            // this item. Leaving it alone also keeps its cached height.
+        } else if (slideItem != null) {
+            bindPage(holder, slideItem);
+        } else {
+            bindPlaceholder(holder);
+        }
+    }
+
+    /**
+     * Called when a page goes off screen, before it's recycled.
+     */
+    protected void releasePage(PageHolder holder) {
+        // No need to finish decoding an icon for a page that's gone, but
+        // then the page has to be bound again even for the same item.
+        if (holder.iconRequest != null) {
+            holder.cancelIconRequest();
+            holder.item = null;
+        }
+
+        if (mTransition != SwipeTransition.NONE) {
+            resetTransform(holder.page);
+        }
     }
 
     /**
      * Private convenience methods used by this class.
      */
     private void setActiveIndicator(int position) {
-        if (mIndicatorContainer.findViewWithTag(TAG_CIRCLE) == null) {
-            // No indicators yet, let's make some. Only run once per configuration.
-            for (int i = 0; i < getCount(); i++) {
-                ImageView indicator = (ImageView) View.inflate(mContext, R.layout.swipeselector_circle_item, null);
-
-                if (i == position) {
-                    indicator.setImageDrawable(mActiveCircleDrawable);
-                } else {
-                    indicator.setImageDrawable(mInActiveCircleDrawable);
-                }
-
-                indicator.setLayoutParams(mCircleParams);
-                indicator.setTag(TAG_CIRCLE);
-                mIndicatorContainer.addView(indicator);
-            }
+        // The dot itself follows the pager in onPageScrolled().
+        TraceCompat.beginSection("SwipeSelector.updateIndicator");
+        long start = startTiming();
+        mIndicator.setCount(getCount());
+        onIndicatorUpdated(start);
+
+        // The same item is still selected, it might have just moved.
+        if (!mSelection.select(position)) {
             return;
         }
 
-        ImageView previousActiveIndicator = (ImageView) mIndicatorContainer.getChildAt(mCurrentPosition);
-        ImageView nextActiveIndicator = (ImageView) mIndicatorContainer.getChildAt(position);
+        mStore.onPositionChanged(position);
+        dispatchItemSelected();
+    }
+
+    /**
+     * Applies the transition to every page the pager currently holds,
+     * based on where each one is compared to the center of the pager.
+     */
+    private void transformPages() {
+        ViewGroup pager = (ViewGroup) mEngine.getView();
 
-        previousActiveIndicator.setImageDrawable(mInActiveCircleDrawable);
-        nextActiveIndicator.setImageDrawable(mActiveCircleDrawable);
+        for (int i = 0; i < pager.getChildCount(); i++) {
+            View page = pager.getChildAt(i);
+            mTransform.compute(mTransition, mEngine.getPagePosition(page));
 
-        mCurrentPosition = position;
+            ViewCompat.setAlpha(page, mTransform.alpha);
+            ViewCompat.setTranslationX(page, mTransform.translationX * page.getWidth());
+            ViewCompat.setScaleX(page, mTransform.scale);
+            ViewCompat.setScaleY(page, mTransform.scale);
+        }
+    }
+
+    private void resetTransform(View page) {
+        ViewCompat.setAlpha(page, 1);
+        ViewCompat.setTranslationX(page, 0);
+        ViewCompat.setScaleX(page, 1);
+        ViewCompat.setScaleY(page, 1);
+    }
+
+    private void dispatchItemSelected() {
+        if (mOnItemSelectedListener == null && mSelectionDispatcher == null) {
+            return;
+        }
+
+        SwipeItem item = getSelectedItem();
+        mSelectionPending = item == null;
+
+        if (item == null) {
+            return;
+        }
 
         if (mOnItemSelectedListener != null) {
-            mOnItemSelectedListener.onItemSelected(getSelectedItem());
+            mOnItemSelectedListener.onItemSelected(item);
+        }
+
+        if (mSelectionDispatcher != null) {
+            mSelectionDispatcher.onChanging(item);
+
+            // Selected without scrolling, or once the scrolling is done.
+            if (mScrollState == ViewPager.SCROLL_STATE_IDLE) {
+                mSelectionDispatcher.settle(mSelection.getPosition(), item);
+            }
+        }
+    }
+
+    /**
+     * For selections the listener isn't told about, so they aren't
+     * reported as settled either.
+     */
+    private void resetSettledSelection() {
+        if (mSelectionDispatcher != null) {
+            if (getCount() > 0) {
+                mSelectionDispatcher.reset(mSelection.getPosition(), mStore.get(mSelection.getPosition()));
+            } else {
+                mSelectionDispatcher.reset(-1, null);
+            }
+        }
+    }
+
+    private void setStore(ItemStore store) {
+        if (mStore != null) {
+            mStore.release();
+        }
+
+        mStore = store;
+        mSelectionPending = false;
+        onItemsChanged(null, CHANGE_ALL, 0, 0);
+    }
+
+    /**
+     * Rebinds the pages whose items changed, moves the rest to their
+     * new positions and keeps the selection on the given item if it's
+     * still there. The listener is only notified if it isn't.
+     *
+     * @param selected the item that was selected before the change, or
+     * null to start over from the first item.
+     * @param change one of the CHANGE_ constants, for the engine
+     * @param position the position that changed, if it was just one
+     * @param toPosition where the item was moved to, for CHANGE_MOVED
+     */
+    private void onItemsChanged(SwipeItem selected, int change, int position, int toPosition) {
+        onItemsVersionChanged();
+        int count = getCount();
+        int selectedPosition = selected != null ? mStore.indexOf(selected) : 0;
+        boolean selectionLost = selectedPosition == -1;
+
+        // A lost selection stays where it was, as far as there are items.
+        mSelection.setItems(mStore, count, selectionLost ? mSelection.getPosition() : selectedPosition);
+        selectedPosition = mSelection.getPosition();
+        mStore.onPositionChanged(selectedPosition);
+        mIndicator.setCount(count);
+        mIndicator.setPosition(selectedPosition, 0);
+
+        notifyEngine(change, position, toPosition);
+        mChangedItem = null;
+
+        if (count == 0) {
+            return;
+        }
+
+        if (mEngine.getCurrentItem() != selectedPosition) {
+            mEngine.setCurrentItem(selectedPosition, false);
+        }
+
+        handleLeftButtonVisibility(selectedPosition, true);
+        handleRightButtonVisibility(selectedPosition, true);
+
+        if (selectionLost) {
+            dispatchItemSelected();
+        } else {
+            resetSettledSelection();
+        }
+    }
+
+    private void notifyEngine(int change, int position, int toPosition) {
+        switch (change) {
+            case CHANGE_INSERTED:
+                mEngine.notifyItemInserted(position);
+                break;
+            case CHANGE_REMOVED:
+                mEngine.notifyItemRemoved(position);
+                break;
+            case CHANGE_MOVED:
+                mEngine.notifyItemMoved(position, toPosition);
+                break;
+            case CHANGE_UPDATED:
+                mEngine.notifyItemRangeChanged(position, 1);
+                break;
+            default:
+                mEngine.notifyDataSetChanged();
+                break;
+        }
+    }
+
+    private ListItemStore requireListStore() {
+        if (!(mStore instanceof ListItemStore)) {
+            throw new UnsupportedOperationException("Items can only be " +
+                    "changed one by one when they were given with setItems(SwipeItem...).");
+        }
+
+        return (ListItemStore) mStore;
+    }
+
+    /**
+     * @return the time right now for measuring something, or 0 if
+     * nobody's listening, so timing costs nothing then.
+     */
+    private long startTiming() {
+        return mMetricsListener != null ? System.nanoTime() : 0;
+    }
+
+    private void onItemsSet(long start) {
+        if (mMetricsListener != null) {
+            mMetricsListener.onItemsSet(getCount(), System.nanoTime() - start);
+        }
+
+        TraceCompat.endSection();
+    }
+
+    private void onIndicatorUpdated(long start) {
+        if (mMetricsListener != null) {
+            mMetricsListener.onIndicatorUpdated(System.nanoTime() - start);
+        }
+
+        TraceCompat.endSection();
+    }
+
+    private PageHolder createPage(int viewType) {
+        TraceCompat.beginSection("SwipeSelector.inflatePage");
+        long start = startTiming();
+
+        try {
+            return inflatePage(viewType);
+        } finally {
+            if (mMetricsListener != null) {
+                mMetricsListener.onPageInflated(System.nanoTime() - start);
+            }
+
+            TraceCompat.endSection();
+        }
+    }
+
+    /**
+     * Inflates a new page and applies everything that doesn't depend
+     * on the item it shows, so it doesn't have to be done on every bind.
+     */
+    private PageHolder inflatePage(int viewType) {
+        View page = PagePrewarmer.takePage(mContext, viewType);
+
+        if (page == null) {
+            page = View.inflate(mContext, getPageLayout(viewType), null);
+        }
+
+        PageHolder holder = new PageHolder(page, viewType);
+
+        if (mTitleTextAppearance != -1) {
+            setTextAppearanceCompat(holder.title, mTitleTextAppearance);
+        }
+
+        if (mDescriptionTextAppearance != -1) {
+            setTextAppearanceCompat(holder.description, mDescriptionTextAppearance);
+        }
+
+        // A text appearance can come with a font of its own, so the custom
+        // one goes on after it, the same as when it's applied later on.
+        if (mCustomTypeFace != null) {
+            applyTypeface(holder);
+        }
+
+        page.setPadding(
+                mContentLeftPadding,
+                mSweetSixteen,
+                mContentRightPadding,
+                mSweetSixteen
+        );
+
+        return holder;
+    }
+
+    private void applyTypeface(PageHolder holder) {
+        holder.typeface = mCustomTypeFace;
+        holder.title.setTypeface(mCustomTypeFace);
+        holder.description.setTypeface(mCustomTypeFace);
+        holder.contentVersion++;
+    }
+
+    /**
+     * Only the things that actually differ between items are set here.
+     */
+    private void bindPage(PageHolder holder, SwipeItem slideItem) {
+        holder.contentVersion++;
+        holder.placeholder = false;
+        holder.item = slideItem;
+        holder.title.setText(slideItem.title);
+
+        if (slideItem.description == null) {
+            holder.description.setVisibility(View.GONE);
+        } else {
+            holder.description.setVisibility(View.VISIBLE);
+            holder.description.setText(slideItem.description);
+        }
+
+        holder.cancelIconRequest();
+
+        if (slideItem.iconRes != -1) {
+            // Icon resources are decoded in the background and downsampled,
+            // showing the placeholder until they're ready.
+            IconLoader.Icon icon = IconLoader.getCached(
+                    IconLoader.key(mContext, slideItem.iconRes, mMaxIconHeight));
+
+            if (icon != null) {
+                holder.setIcon(icon);
+            } else {
+                holder.icon.setImageDrawable(mIconPlaceholder);
+                holder.iconRequest = IconLoader.load(mContext, slideItem.iconRes, mMaxIconHeight, holder);
+            }
+
+            holder.icon.setVisibility(View.VISIBLE);
+        } else if (slideItem.icon == null) {
+            holder.icon.setVisibility(View.GONE);
+        } else {
+            holder.icon.setImageDrawable(slideItem.icon);
+            holder.icon.setVisibility(View.VISIBLE);
+        }
+
+        int titleGravity = toGravity(slideItem.titleGravity, Gravity.CENTER);
+        if (holder.titleGravity != titleGravity) {
+            holder.title.setGravity(titleGravity);
+            holder.titleGravity = titleGravity;
+        }
+
+        int descriptionGravity = toGravity(slideItem.descriptionGravity, mDefaultDescriptionGravity);
+        if (holder.descriptionGravity != descriptionGravity) {
+            holder.description.setGravity(descriptionGravity);
+            holder.descriptionGravity = descriptionGravity;
+        }
+
+        predictPageHeight(holder, slideItem);
+    }
+
+    /**
+     * An empty page for an item that's still being loaded.
+     */
+    private void bindPlaceholder(PageHolder holder) {
+        holder.contentVersion++;
+        holder.placeholder = true;
+        holder.item = null;
+        holder.cancelIconRequest();
+
+        holder.title.setText(null);
+        holder.description.setVisibility(View.GONE);
+        holder.icon.setVisibility(View.GONE);
+    }
+
+    private static int toGravity(SwipeIconGravity gravity, int defaultGravity) {
+        switch (gravity) {
+            case CENTER:
+                return Gravity.CENTER;
+            case LEFT:
+                return Gravity.START;
+            case RIGHT:
+                return Gravity.END;
+            default:
+                return defaultGravity;
+        }
+    }
+
+    protected static int getPageLayout(int viewType) {
+        switch (viewType) {
+            case PageRecycler.VIEW_TYPE_LEFT:
+                return R.layout.swipeselector_content_left_item;
+            case PageRecycler.VIEW_TYPE_RIGHT:
+                return R.layout.swipeselector_content_right_item;
+            default:
+                return R.layout.swipeselector_content_item;
+        }
+    }
+
+    protected static int getItemViewType(SwipeIconGravity iconGravity) {
+        switch (iconGravity) {
+            case LEFT:
+                return PageRecycler.VIEW_TYPE_LEFT;
+            case RIGHT:
+                return PageRecycler.VIEW_TYPE_RIGHT;
+            default:
+                return PageRecycler.VIEW_TYPE_CENTER;
         }
     }
 
@@ -537,28 +1368,36 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
         return realGravityValue;
     }
 
-    private void handleLeftButtonVisibility(int position) {
-        if (position < 1) {
-            mLeftButton.setTag(TAG_HIDDEN);
-            mLeftButton.setClickable(false);
-            animate(0, mLeftButton);
-        } else if (TAG_HIDDEN.equals(mLeftButton.getTag())) {
-            mLeftButton.setTag(null);
-            mLeftButton.setClickable(true);
-            animate(1, mLeftButton);
+    private void handleLeftButtonVisibility(int position, boolean animate) {
+        applyButtonChange(mSelection.updateLeftButton(position), mLeftButton, animate);
+    }
+
+    private void handleRightButtonVisibility(int position, boolean animate) {
+        applyButtonChange(mSelection.updateRightButton(position), mRightButton, animate);
+    }
+
+    private void applyButtonChange(int change, ImageView button, boolean animate) {
+        if (change == SelectionModel.BUTTON_UNCHANGED) {
+            return;
         }
+
+        boolean visible = change == SelectionModel.BUTTON_SHOWN;
+        button.setClickable(visible);
+        fade(visible ? 1 : 0, button, animate);
     }
 
-    private void handleRightButtonVisibility(int position) {
-        if (position == getCount() - 1) {
-            mRightButton.setTag(TAG_HIDDEN);
-            mRightButton.setClickable(false);
-            animate(0, mRightButton);
-        } else if (TAG_HIDDEN.equals(mRightButton.getTag())) {
-            mRightButton.setTag(null);
-            mRightButton.setClickable(true);
-            animate(1, mRightButton);
+    private void fade(float alpha, ImageView button, boolean animate) {
+        if (animate) {
+            animate(alpha, button);
+            return;
         }
+
+        // Whatever was fading the button before is outdated now.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            button.animate().cancel();
+        }
+
+        setAlpha(alpha, button);
     }
 
     private void animate(float alpha, ImageView button) {
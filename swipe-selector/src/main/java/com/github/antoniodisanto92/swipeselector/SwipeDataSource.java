@@ -0,0 +1,50 @@
+package com.github.antoniodisanto92.swipeselector;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Provides the items for a {@link SwipeSelector} on demand, for when there
+ * are too many of them to create up front. The selector only asks for the
+ * items around the currently selected position, and forgets the ones that
+ * are far away.
+ */
+public interface SwipeDataSource {
+    /**
+     * @return how many items there are in total.
+     */
+    int getCount();
+
+    /**
+     * Load a range of items. This is called on the main thread, so anything
+     * slow should be done elsewhere. The items can be delivered right away
+     * or later, from any thread, through the callback.
+     *
+     * @param startPosition the position of the first item to load
+     * @param count how many items to load
+     * @param callback the callback to give the loaded items to
+     */
+    void loadItems(int startPosition, int count, Callback callback);
+
+    interface Callback {
+        /**
+         * @param startPosition the position of the first loaded item
+         * @param items the loaded items, in order
+         */
+        void onItemsLoaded(int startPosition, SwipeItem[] items);
+    }
+}
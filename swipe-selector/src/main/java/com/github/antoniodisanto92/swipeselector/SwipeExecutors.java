@@ -0,0 +1,63 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+class SwipeExecutors {
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    // One background thread shared by every selector is enough for
+    // the small jobs we have, and keeps them from fighting the UI thread.
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    r.run();
+                }
+            }, "SwipeSelector-background");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    protected static Future<?> background(Runnable task) {
+        return BACKGROUND.submit(task);
+    }
+
+    protected static void main(Runnable task) {
+        MAIN_HANDLER.post(task);
+    }
+
+    protected static void mainDelayed(Runnable task, long delayMillis) {
+        MAIN_HANDLER.postDelayed(task, delayMillis);
+    }
+
+    protected static void cancelMain(Runnable task) {
+        MAIN_HANDLER.removeCallbacks(task);
+    }
+}
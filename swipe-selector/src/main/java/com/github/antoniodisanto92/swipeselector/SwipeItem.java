@@ -1,5 +1,6 @@
 package com.github.antoniodisanto92.swipeselector;
 
+import android.content.Context;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.StringRes;
@@ -21,18 +22,6 @@ import android.support.annotation.StringRes;
  *    limitations under the License.
  */
 public class SwipeItem {
-    /**
-     * This boolean is checked when the SwipeAdapters
-     * {@link SwipeAdapter#setItems(SwipeItem... items)} method
-     * is called. If this is true, meaning there are SwipeItems
-     * that are initialized using String resources, we're looping
-     * through all of them and getting the strings where applicable.
-     *
-     * Otherwise, we'll just skip the loop as it's unnecessary.
-     */
-    protected static boolean checkForStringResources = false;
-    protected static boolean checkForDrawableResources = false;
-
     public Object value;
     public String title;
     public String description;
@@ -45,7 +34,12 @@ public class SwipeItem {
     protected int descriptionRes = -1;
     protected int iconRes = -1;
 
-    private SwipeItem() {
+    // Resources are looked up the first time this item is shown or
+    // returned as the selected one, not when it's given to a selector.
+    private boolean resolved = false;
+
+    // For CompactSwipeItems, which fills in the fields by itself.
+    SwipeItem() {
     }
 
     /**
@@ -117,8 +111,6 @@ public class SwipeItem {
      * @param icon A drawable icon to be placed inside the item
      */
     public SwipeItem(Object value, String title, String description, @DrawableRes int icon) {
-        checkForDrawableResources = true;
-
         this.value = value;
         this.title = title;
         this.description = description;
@@ -138,8 +130,6 @@ public class SwipeItem {
      * @param icon A drawable icon to be placed inside the item
      */
     public SwipeItem(Object value, String title, String description, @DrawableRes int icon, SwipeIconGravity iconGravity) {
-        checkForDrawableResources = true;
-
         this.value = value;
         this.title = title;
         this.description = description;
@@ -160,8 +150,6 @@ public class SwipeItem {
      * are healthy, just ask anyone."
      */
     public SwipeItem(Object value, @StringRes int title, @StringRes int description) {
-        checkForStringResources = true;
-
         this.value = value;
         this.titleRes = title;
         this.descriptionRes = description;
@@ -181,9 +169,6 @@ public class SwipeItem {
      * @param icon A drawable icon to be placed inside the item
      */
     public SwipeItem(Object value, @StringRes int title, @StringRes int description, @DrawableRes int icon) {
-        checkForStringResources = true;
-        checkForDrawableResources = true;
-
         this.value = value;
         this.titleRes = title;
         this.descriptionRes = description;
@@ -204,9 +189,6 @@ public class SwipeItem {
      * @param icon A drawable icon to be placed inside the item
      */
     public SwipeItem(Object value, @StringRes int title, @StringRes int description, @DrawableRes int icon, SwipeIconGravity iconGravity) {
-        checkForStringResources = true;
-        checkForDrawableResources = true;
-
         this.value = value;
         this.titleRes = title;
         this.descriptionRes = description;
@@ -228,8 +210,6 @@ public class SwipeItem {
      * @param icon A drawable icon to be placed inside the item
      */
     public SwipeItem(Object value, @StringRes int title, @StringRes int description, Drawable icon) {
-        checkForStringResources = true;
-
         this.value = value;
         this.titleRes = title;
         this.descriptionRes = description;
@@ -250,8 +230,6 @@ public class SwipeItem {
      * @param icon A drawable icon to be placed inside the item
      */
     public SwipeItem(Object value, @StringRes int title, @StringRes int description, Drawable icon, SwipeIconGravity iconGravity) {
-        checkForStringResources = true;
-
         this.value = value;
         this.titleRes = title;
         this.descriptionRes = description;
@@ -260,6 +238,97 @@ public class SwipeItem {
     }
 
 
+    /**
+     * Looks up the String resources this item was created with, if any.
+     * Icon resources are decoded separately, see {@link IconLoader}.
+     * Only the first call does any work.
+     *
+     * @param context the Context for getting the resources
+     */
+    protected void resolve(Context context) {
+        if (resolved) {
+            return;
+        }
+
+        if (titleRes != -1) {
+            title = context.getString(titleRes);
+        }
+
+        if (descriptionRes != -1) {
+            description = context.getString(descriptionRes);
+        }
+
+        resolved = true;
+    }
+
+    /**
+     * Fills in {@link #icon} from the icon resource, for when this item is
+     * handed out to the user and they might want to use it. It's the same
+     * downsampled icon the selector shows, which is usually cached already
+     * by the time an item gets selected.
+     *
+     * @param context the Context for getting the resources
+     * @param reqHeight the height the selector shows its icons at
+     */
+    protected void resolveIcon(Context context, int reqHeight) {
+        if (icon == null && iconRes != -1) {
+            IconLoader.Icon loaded = IconLoader.get(context, iconRes, reqHeight);
+            icon = loaded != null ? loaded.newDrawable(context.getResources()) : null;
+        }
+    }
+
+    /**
+     * What identifies this item when the items change: the value, or the
+     * item itself if it doesn't have one.
+     */
+    protected Object key() {
+        return value != null ? value : this;
+    }
+
+    /**
+     * @return true if the value is a whole number, which then also works
+     * as a primitive id for this item.
+     */
+    protected boolean hasId() {
+        return isId(value);
+    }
+
+    /**
+     * @return the value as a primitive id, see {@link #hasId()}.
+     */
+    protected long id() {
+        return ((Number) value).longValue();
+    }
+
+    protected static boolean isId(Object value) {
+        return KeyIndex.isId(value);
+    }
+
+    /**
+     * @param other an item with the same key
+     * @return true if a page showing the other item would look exactly
+     * the same for this one.
+     */
+    protected boolean sameContentAs(SwipeItem other) {
+        if (this == other) {
+            return true;
+        }
+
+        return titleRes == other.titleRes
+                && descriptionRes == other.descriptionRes
+                && iconRes == other.iconRes
+                && (titleRes != -1 || equal(title, other.title))
+                && (descriptionRes != -1 || equal(description, other.description))
+                && (iconRes != -1 || icon == other.icon)
+                && iconGravity == other.iconGravity
+                && titleGravity == other.titleGravity
+                && descriptionGravity == other.descriptionGravity;
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
     // SETTER
     public void setTitleGravity(SwipeIconGravity titleGravity) {
         this.titleGravity = titleGravity;
@@ -0,0 +1,70 @@
+package com.github.antoniodisanto92.swipeselector;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Reports where a {@link SwipeSelector} spends its time, for finding out
+ * what to optimize. Set it with {@link SwipeSelector#setMetricsListener}.
+ * Every method is called on the main thread, right in the middle of the
+ * work being measured, so they should only record the numbers.
+ * <p/>
+ * The same spots show up as trace sections in systrace and Perfetto
+ * captures whether there's a listener or not.
+ */
+public interface SwipeMetricsListener {
+    /**
+     * @param durationNanos how long inflating a new page took.
+     */
+    void onPageInflated(long durationNanos);
+
+    /**
+     * @param position the position of the item the page was bound to
+     * @param durationNanos how long binding the page took.
+     */
+    void onPageBound(int position, long durationNanos);
+
+    /**
+     * Called for every measure pass of the pager.
+     *
+     * @param durationNanos how long measuring the pager and its pages took.
+     */
+    void onPagerMeasured(long durationNanos);
+
+    /**
+     * @param count how many items were given
+     * @param durationNanos how long setItems() took.
+     */
+    void onItemsSet(int count, long durationNanos);
+
+    /**
+     * @param durationNanos how long moving the indicator along with the
+     * pager took, for a single scroll step or page change.
+     */
+    void onIndicatorUpdated(long durationNanos);
+
+    /**
+     * Called whenever the pager stops scrolling.
+     *
+     * @param pagesCreated how many pages were put on the pager since the
+     * last time, recycled or not. The ones that had to be inflated are
+     * reported by {@link #onPageInflated(long)} as well.
+     * @param pagesDestroyed how many pages were taken off the pager since
+     * the last time.
+     */
+    void onSwipeSettled(int pagesCreated, int pagesDestroyed);
+}
@@ -2,19 +2,19 @@ package com.github.antoniodisanto92.swipeselector;
 
 import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Parcelable;
-import android.support.v4.content.ContextCompat;
-import android.support.v4.view.ViewPager;
 import android.util.AttributeSet;
 import android.util.SparseArray;
 import android.view.LayoutInflater;
+import android.view.View;
 import android.view.ViewGroup;
 import android.widget.FrameLayout;
 import android.widget.ImageView;
 
+import java.util.concurrent.Executor;
+
 
 /*
  * SwipeSelector library for Android
@@ -33,11 +33,16 @@ import android.widget.ImageView;
  *    limitations under the License.
  */
 public class SwipeSelector extends FrameLayout {
-    private static final int DEFAULT_INDICATOR_SIZE = 6;
-    private static final int DEFAULT_INDICATOR_MARGIN = 8;
     private static final String STATE_SELECTOR = "STATE_SELECTOR";
 
+    /**
+     * What {@link #getSelectedItemId()} returns when the value of the
+     * selected item isn't a whole number.
+     */
+    public static final long NO_ID = Long.MIN_VALUE;
+
     private SwipeAdapter mAdapter;
+    private PagerEngine mEngine;
 
     public SwipeSelector(Context context) {
         super(context);
@@ -61,72 +66,121 @@ public class SwipeSelector extends FrameLayout {
     }
 
     private void init(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
-        TypedArray ta = context.getTheme().obtainStyledAttributes(attrs,
-                R.styleable.SwipeSelector, defStyleAttr, defStyleRes);
-
-        int indicatorSize;
-        int indicatorMargin;
-        int indicatorInActiveColor;
-        int indicatorActiveColor;
-        int leftButtonResource;
-        int rightButtonResource;
-
-        String customFontPath;
-        int titleTextAppearance;
-        int descriptionTextAppearance;
-        int descriptionGravity;
-
-        try {
-            indicatorSize = (int) ta.getDimension(R.styleable.SwipeSelector_swipe_indicatorSize,
-                    PixelUtils.dpToPixel(context, DEFAULT_INDICATOR_SIZE));
-            indicatorMargin = (int) ta.getDimension(R.styleable.SwipeSelector_swipe_indicatorMargin,
-                    PixelUtils.dpToPixel(context, DEFAULT_INDICATOR_MARGIN));
-            indicatorInActiveColor = ta.getColor(R.styleable.SwipeSelector_swipe_indicatorInActiveColor,
-                    ContextCompat.getColor(context, R.color.swipeselector_color_indicator_inactive));
-            indicatorActiveColor = ta.getColor(R.styleable.SwipeSelector_swipe_indicatorActiveColor,
-                    ContextCompat.getColor(context, R.color.swipeselector_color_indicator_active));
-
-            leftButtonResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_leftButtonResource,
-                    R.drawable.ic_action_navigation_chevron_left);
-            rightButtonResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_rightButtonResource,
-                    R.drawable.ic_action_navigation_chevron_right);
-
-            customFontPath = ta.getString(R.styleable.SwipeSelector_swipe_customFontPath);
-            titleTextAppearance = ta.getResourceId(R.styleable.SwipeSelector_swipe_titleTextAppearance,
-                    -1);
-            descriptionTextAppearance = ta.getResourceId(R.styleable.SwipeSelector_swipe_descriptionTextAppearance,
-                    -1);
-            descriptionGravity = ta.getInteger(R.styleable.SwipeSelector_swipe_descriptionGravity,
-                    -1);
-        } finally {
-            ta.recycle();
+        // Shared with every other selector using the same style.
+        SwipeStyle style = SwipeStyle.obtain(context, attrs, defStyleAttr, defStyleRes);
+
+        View prewarmedLayout = PagePrewarmer.takeShell(context);
+
+        if (prewarmedLayout != null) {
+            addView(prewarmedLayout, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT));
+        } else {
+            LayoutInflater.from(context).inflate(R.layout.swipeselector_layout, this);
         }
 
-        LayoutInflater inflater = LayoutInflater.from(context);
-        inflater.inflate(R.layout.swipeselector_layout, this);
+        View pager = findViewById(R.id.swipeselector_layout_swipePager);
 
-        ViewPager pager = (ViewPager) findViewById(R.id.swipeselector_layout_swipePager);
-        ViewGroup indicatorContainer = (ViewGroup) findViewById(R.id.swipeselector_layout_circleContainer);
+        // The layout comes with a ViewPager, which the RecyclerView takes
+        // the place of, so both engines share everything else.
+        if (style.engine == PagerEngine.RECYCLER_VIEW) {
+            pager = replaceView(pager, new RecyclerPager(context));
+        }
+
+        mEngine = style.engine == PagerEngine.RECYCLER_VIEW
+                ? new RecyclerPagerEngine((RecyclerPager) pager)
+                : new ViewPagerEngine((WrappingPager) pager);
+        IndicatorView indicator = (IndicatorView) findViewById(R.id.swipeselector_layout_indicator);
         ImageView leftButton = (ImageView) findViewById(R.id.swipeselector_layout_leftButton);
         ImageView rightButton = (ImageView) findViewById(R.id.swipeselector_layout_rightButton);
 
         mAdapter = new SwipeAdapter.Builder()
-                .viewPager(pager)
-                .indicatorContainer(indicatorContainer)
-                .indicatorSize(indicatorSize)
-                .indicatorMargin(indicatorMargin)
-                .inActiveIndicatorColor(indicatorInActiveColor)
-                .activeIndicatorColor(indicatorActiveColor)
-                .leftButtonResource(leftButtonResource)
-                .rightButtonResource(rightButtonResource)
+                .engine(mEngine)
+                .indicator(indicator)
                 .leftButton(leftButton)
                 .rightButton(rightButton)
-                .customFontPath(customFontPath)
-                .titleTextAppearance(titleTextAppearance)
-                .descriptionTextAppearance(descriptionTextAppearance)
-                .descriptionGravity(descriptionGravity)
+                .style(style)
                 .build();
-        pager.setAdapter(mAdapter);
+        mEngine.setAdapter(mAdapter);
+        mAdapter.setStableHeightEnabled(style.stableHeight);
+    }
+
+    private static View replaceView(View view, View replacement) {
+        ViewGroup parent = (ViewGroup) view.getParent();
+        int index = parent.indexOfChild(view);
+
+        replacement.setId(view.getId());
+        parent.removeViewAt(index);
+        parent.addView(replacement, index, view.getLayoutParams());
+        return replacement;
+    }
+
+    /**
+     * Inflates the layouts for SwipeSelectors and their pages ahead of time,
+     * one at a time whenever the main thread is idle. Selectors created
+     * later with the same Context use these instead of inflating their own,
+     * so the first frame showing them doesn't have to do any XML inflation.
+     * <p/>
+     * Call this on the main thread, with the Context the selectors will be
+     * created with, for example in your Activity's onCreate() before
+     * setContentView(). A selector at rest shows two pages, so this also
+     * prepares one selector layout for every two pages.
+     * <p/>
+     * Whatever hasn't been used is dropped once the Activity is destroyed.
+     * Before API 14 that can't be detected, so prewarming for an Activity
+     * does nothing there.
+     *
+     * @param context the Context the SwipeSelectors will use.
+     * @param pages how many pages with centered icons to prepare.
+     */
+    public static void prewarm(Context context, int pages) {
+        prewarm(context, Math.max(1, pages / 2), pages, SwipeIconGravity.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #prewarm(Context, int)}, but with explicit control over
+     * how many selector layouts are prepared and which page layout is used.
+     *
+     * @param context the Context the SwipeSelectors will use.
+     * @param selectors how many selector layouts to prepare.
+     * @param pages how many pages to prepare.
+     * @param iconGravity the icon gravity of the items the pages will show.
+     */
+    public static void prewarm(Context context, int selectors, int pages, SwipeIconGravity iconGravity) {
+        PagePrewarmer.prewarm(context, selectors, pages, SwipeAdapter.getItemViewType(iconGravity));
+    }
+
+    /**
+     * Drops every prewarmed view that hasn't been used yet, along with
+     * the Context they were inflated with.
+     */
+    public static void clearPrewarmed() {
+        PagePrewarmer.clear();
+    }
+
+    /**
+     * @return how many prewarmed views have actually been used by
+     * SwipeSelectors instead of inflating new ones.
+     */
+    public static int getPrewarmedViewsUsed() {
+        return PagePrewarmer.getUsedCount();
+    }
+
+    /**
+     * Loads custom fonts on the background thread, so selectors using them
+     * with swipe_customFontPath don't have to load them on the main thread.
+     * Each font is only loaded once per process, no matter how many
+     * selectors use it.
+     * <p/>
+     * Call this on the main thread as early as possible, for example in your
+     * Application's onCreate(). Selectors created before a font is ready
+     * show the default font until it is.
+     *
+     * @param context any Context.
+     * @param assetPaths the fonts, such as {@code fonts/MySuperDuperFont.ttf}.
+     */
+    public static void prewarmFonts(Context context, String... assetPaths) {
+        for (String assetPath : assetPaths) {
+            TypefaceCache.warm(context, assetPath);
+        }
     }
 
     /**
@@ -137,6 +191,36 @@ public class SwipeSelector extends FrameLayout {
         mAdapter.setOnItemSelectedListener(listener);
     }
 
+    /**
+     * Set a listener that's told about every page crossed while swiping,
+     * and separately about the item the user stops at once the pager is
+     * idle again. The settled item is reported on the main thread, right
+     * away.
+     *
+     * @param listener the listener, or null to remove it.
+     */
+    public void setOnSelectionChangeListener(OnSwipeSelectionChangeListener listener) {
+        setOnSelectionChangeListener(listener, 0, null);
+    }
+
+    /**
+     * Same as {@link #setOnSelectionChangeListener(OnSwipeSelectionChangeListener)},
+     * but the settled item is only reported once the selection has stayed
+     * put for the given time, and on the given Executor. Good for listeners
+     * doing something expensive, so they don't run again for every item the
+     * user quickly swipes past.
+     *
+     * @param listener the listener, or null to remove it.
+     * @param debounceMillis how long the pager has to stay idle before the
+     * settled item is reported, or 0 to report it right away.
+     * @param executor where {@link OnSwipeSelectionChangeListener#onSelectionSettled}
+     * runs, or null for the main thread.
+     */
+    public void setOnSelectionChangeListener(OnSwipeSelectionChangeListener listener, long debounceMillis,
+                                             Executor executor) {
+        mAdapter.setOnSelectionChangeListener(listener, debounceMillis, executor);
+    }
+
     /**
      * A method for giving this SwipeSelector something to show.
      *
@@ -148,7 +232,117 @@ public class SwipeSelector extends FrameLayout {
     }
 
     /**
-     * @return the selected slides' SwipeItem.
+     * Give this SwipeSelector a large amount of items without creating a
+     * {@link SwipeItem} for each of them. SwipeItems are only created for
+     * the items that are showing or asked for, so two items fetched at
+     * different times might not be the same object. Items given this way
+     * can't be changed one by one, give a new {@link CompactSwipeItems}
+     * instead.
+     *
+     * @param swipeItems the items to show inside this view.
+     */
+    public void setItems(CompactSwipeItems swipeItems) {
+        mAdapter.setItems(swipeItems);
+    }
+
+    /**
+     * Show a different set of items, for example when this SwipeSelector is
+     * part of a RecyclerView row that's being bound to another line. The
+     * pages and indicators that are already there are reused, so nothing
+     * has to be inflated as long as the item layouts are the same. The
+     * given position is selected without animating and without notifying
+     * the {@link OnSwipeItemSelectedListener}.
+     *
+     * @param selectedPosition the position to select, such as the one
+     * {@link #unbind()} returned for this row earlier.
+     * @param swipeItems the items to show.
+     */
+    public void bind(int selectedPosition, SwipeItem... swipeItems) {
+        mAdapter.bind(swipeItems, selectedPosition);
+    }
+
+    /**
+     * Stop loading anything for the current items, for example when the
+     * RecyclerView row this SwipeSelector is in gets recycled. The views
+     * are kept for the next {@link #bind(int, SwipeItem...)}.
+     *
+     * @return the selected position, to be given back to bind() when the
+     * row shows the same items again.
+     */
+    public int unbind() {
+        return mAdapter.unbind();
+    }
+
+    /**
+     * Replace the items of this SwipeSelector, keeping the pages of the
+     * items that didn't change. Items are matched by their value, so if
+     * the selected item is still there, it stays selected and the
+     * {@link OnSwipeItemSelectedListener} isn't notified. Otherwise the
+     * item that took its place is selected.
+     *
+     * @param swipeItems the new items.
+     */
+    public void updateItems(SwipeItem... swipeItems) {
+        mAdapter.updateItems(swipeItems);
+    }
+
+    /**
+     * Insert an item without rebuilding the other pages. The selected
+     * item stays selected.
+     *
+     * @param position where the item is inserted.
+     * @param swipeItem the item to insert.
+     */
+    public void insertItem(int position, SwipeItem swipeItem) {
+        mAdapter.insertItem(position, swipeItem);
+    }
+
+    /**
+     * Remove an item without rebuilding the other pages. If it was the
+     * selected one, the item that takes its place gets selected.
+     *
+     * @param position the position of the item to remove.
+     */
+    public void removeItemAt(int position) {
+        mAdapter.removeItemAt(position);
+    }
+
+    /**
+     * Move an item to another position. The selected item stays selected.
+     *
+     * @param fromPosition the current position of the item.
+     * @param toPosition the position to move it to.
+     */
+    public void moveItem(int fromPosition, int toPosition) {
+        mAdapter.moveItem(fromPosition, toPosition);
+    }
+
+    /**
+     * Replace a single item, rebinding only its page.
+     *
+     * @param position the position of the item to replace.
+     * @param swipeItem the new item.
+     */
+    public void updateItem(int position, SwipeItem swipeItem) {
+        mAdapter.updateItem(position, swipeItem);
+    }
+
+    /**
+     * Give this SwipeSelector its items through a {@link SwipeDataSource},
+     * which only has to provide the items around the selected one. Use
+     * this instead of {@link #setItems(SwipeItem...)} when there are so
+     * many items that creating all of them up front would be a waste.
+     * Pages for items that are still loading are shown empty.
+     *
+     * @param dataSource the source for the items to show.
+     */
+    public void setDataSource(SwipeDataSource dataSource) {
+        mAdapter.setDataSource(dataSource);
+    }
+
+    /**
+     * @return the selected slides' SwipeItem, or null if the items come from
+     * a {@link SwipeDataSource} and the selected one is still being loaded.
      */
     public SwipeItem getSelectedItem() {
         if (mAdapter.getCount() == 0) {
@@ -160,6 +354,25 @@ public class SwipeSelector extends FrameLayout {
         return mAdapter.getSelectedItem();
     }
 
+    /**
+     * The value of the selected item as a primitive, for items whose
+     * values are whole numbers (Integer, Long, Short or Byte). Nothing
+     * gets boxed or resolved on the way.
+     *
+     * @return the value of the selected item, or {@link #NO_ID} if it
+     * isn't a whole number, or the item comes from a
+     * {@link SwipeDataSource} and is still being loaded.
+     */
+    public long getSelectedItemId() {
+        if (mAdapter.getCount() == 0) {
+            throw new UnsupportedOperationException("The SwipeSelector " +
+                    "doesn't have any items! Use the setItems() method " +
+                    "for setting the items before calling getSelectedItemId().");
+        }
+
+        return mAdapter.getSelectedItemId();
+    }
+
     /**
      * Select an item at the specified position and animate the change.
      *
@@ -226,6 +439,144 @@ public class SwipeSelector extends FrameLayout {
         mAdapter.selectItemWithValue(value, animate);
     }
 
+    /**
+     * Select an item that has the specified whole number value, without
+     * boxing it. Items with Integer, Long, Short and Byte values are all
+     * matched by their number, so this works for int values too.
+     *
+     * @param value the value of the item to select.
+     */
+    public void selectItemWithValue(long value) {
+        selectItemWithValue(value, true);
+    }
+
+    /**
+     * Same as {@link #selectItemWithValue(long)}, with control over
+     * the animation.
+     *
+     * @param value the value of the item to select.
+     * @param animate should the change be animated or not.
+     */
+    public void selectItemWithValue(long value, boolean animate) {
+        mAdapter.selectItemWithId(value, animate);
+    }
+
+    /**
+     * Same as {@link #findPositionByValue(Object)} for a whole number
+     * value, without boxing it.
+     *
+     * @param value the value of the item to look for.
+     * @return the position of the item, or -1 if there's no item
+     * with the value, or it hasn't been loaded.
+     */
+    public int findPositionByValue(long value) {
+        return mAdapter.findPositionById(value);
+    }
+
+    /**
+     * Find where the item with the specified value is, without
+     * selecting it. If several items have the same value, this is
+     * the position of the first one.
+     *
+     * @param value the value of the item to look for.
+     * @return the position of the item, or -1 if there's no item
+     * with the value, or it's from a {@link SwipeDataSource} and
+     * hasn't been loaded.
+     */
+    public int findPositionByValue(Object value) {
+        return mAdapter.findPositionByValue(value);
+    }
+
+    /**
+     * Keep this SwipeSelector as tall as its tallest item, instead of
+     * resizing it to the items that are visible while swiping. The height
+     * is worked out on a background thread whenever the items or the
+     * width change, so the selector might still resize once after that.
+     * <p/>
+     * With a {@link SwipeDataSource}, only the items loaded so far count.
+     * {@link CompactSwipeItems} all count, but they're only turned into
+     * SwipeItems one at a time for it.
+     *
+     * @param enabled true for a stable height.
+     */
+    public void setStableHeight(boolean enabled) {
+        mAdapter.setStableHeightEnabled(enabled);
+    }
+
+    /**
+     * Set how the pages look while they're being swiped. Defaults to
+     * {@link SwipeTransition#NONE}, which just slides them.
+     *
+     * @param transition the transition to use.
+     */
+    public void setTransition(SwipeTransition transition) {
+        mAdapter.setTransition(transition);
+    }
+
+    /**
+     * Set how many pages of each layout type are kept around for reuse
+     * after they've been swiped out of view. Defaults to 3.
+     *
+     * @param max the maximum amount of recycled pages per layout type.
+     */
+    public void setMaxRecycledPages(int max) {
+        mAdapter.setMaxRecycledPages(max);
+    }
+
+    /**
+     * @return how many times a page was rebound from a recycled view
+     * instead of being inflated.
+     */
+    public int getRecycledPageHitCount() {
+        return mAdapter.getRecycledPageHitCount();
+    }
+
+    /**
+     * @return how many times there was no recycled view available
+     * and a page had to be inflated.
+     */
+    public int getRecycledPageMissCount() {
+        return mAdapter.getRecycledPageMissCount();
+    }
+
+    /**
+     * @return how many times the pager has been measured since it was
+     * created or {@link #resetMeasureCounts()} was called.
+     */
+    public int getMeasurePassCount() {
+        return mEngine.getMeasurePassCount();
+    }
+
+    /**
+     * @return how many times a page had to be measured for its height,
+     * instead of reusing the height measured for it earlier.
+     */
+    public int getPageMeasureCount() {
+        return mEngine.getChildMeasureCount();
+    }
+
+    /**
+     * Start counting measure passes and page measurements from zero, for
+     * example right before a swipe to see what the swipe costs.
+     */
+    public void resetMeasureCounts() {
+        mEngine.resetMeasureCounts();
+    }
+
+    /**
+     * Get told how long inflating, binding and measuring pages, setting
+     * the items and moving the indicator take, and how many pages each
+     * swipe creates and throws away. Without a listener none of it is
+     * timed, so leave it unset outside of profiling. The same spots are
+     * always visible as trace sections in systrace and Perfetto.
+     *
+     * @param listener the listener for the numbers, or null to stop.
+     */
+    public void setMetricsListener(SwipeMetricsListener listener) {
+        mAdapter.setMetricsListener(listener);
+        mEngine.setMetricsListener(listener);
+    }
+
     @Override
     public Parcelable onSaveInstanceState() {
         Bundle bundle = mAdapter.onSaveInstanceState();
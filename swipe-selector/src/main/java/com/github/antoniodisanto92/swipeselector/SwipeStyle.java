@@ -0,0 +1,241 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.drawable.Drawable;
+import android.support.v4.content.ContextCompat;
+import android.util.AttributeSet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.WeakHashMap;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Everything a selector needs from its attributes and theme, resolved once
+ * and shared by every selector with the same style, theme and
+ * configuration. A screen full of selectors only pays for resolving the
+ * attributes and loading the button drawables once.
+ * <p/>
+ * Drawables can't be shared between views, so only their constant states
+ * are kept, and every selector gets its own instances of them.
+ * <p/>
+ * Everything here runs on the main thread.
+ */
+class SwipeStyle {
+    private static final int DEFAULT_INDICATOR_SIZE = 6;
+    private static final int DEFAULT_INDICATOR_MARGIN = 8;
+
+    // Dropped along with the theme, so a finished Activity doesn't keep
+    // its styles around.
+    private static final WeakHashMap<Resources.Theme, HashMap<Key, SwipeStyle>> CACHE = new WeakHashMap<>();
+
+    protected final int indicatorSize;
+    protected final int indicatorMargin;
+    protected final int inActiveIndicatorColor;
+    protected final int activeIndicatorColor;
+
+    protected final int leftButtonResource;
+    protected final int rightButtonResource;
+
+    protected final String customFontPath;
+    protected final int titleTextAppearance;
+    protected final int descriptionTextAppearance;
+    protected final int descriptionGravity;
+    protected final int iconPlaceholderResource;
+
+    protected final int transition;
+    protected final boolean stableHeight;
+    protected final int engine;
+
+    // Wide enough that the content doesn't go under the buttons.
+    protected final int contentLeftPadding;
+    protected final int contentRightPadding;
+
+    private final Drawable.ConstantState mLeftButton;
+    private final Drawable.ConstantState mRightButton;
+    private final Drawable.ConstantState mIconPlaceholder;
+
+    private SwipeStyle(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        TypedArray ta = context.getTheme().obtainStyledAttributes(attrs,
+                R.styleable.SwipeSelector, defStyleAttr, defStyleRes);
+
+        try {
+            indicatorSize = (int) ta.getDimension(R.styleable.SwipeSelector_swipe_indicatorSize,
+                    PixelUtils.dpToPixel(context, DEFAULT_INDICATOR_SIZE));
+            indicatorMargin = (int) ta.getDimension(R.styleable.SwipeSelector_swipe_indicatorMargin,
+                    PixelUtils.dpToPixel(context, DEFAULT_INDICATOR_MARGIN));
+            inActiveIndicatorColor = ta.getColor(R.styleable.SwipeSelector_swipe_indicatorInActiveColor,
+                    ContextCompat.getColor(context, R.color.swipeselector_color_indicator_inactive));
+            activeIndicatorColor = ta.getColor(R.styleable.SwipeSelector_swipe_indicatorActiveColor,
+                    ContextCompat.getColor(context, R.color.swipeselector_color_indicator_active));
+
+            leftButtonResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_leftButtonResource,
+                    R.drawable.ic_action_navigation_chevron_left);
+            rightButtonResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_rightButtonResource,
+                    R.drawable.ic_action_navigation_chevron_right);
+
+            customFontPath = ta.getString(R.styleable.SwipeSelector_swipe_customFontPath);
+            titleTextAppearance = ta.getResourceId(R.styleable.SwipeSelector_swipe_titleTextAppearance,
+                    -1);
+            descriptionTextAppearance = ta.getResourceId(R.styleable.SwipeSelector_swipe_descriptionTextAppearance,
+                    -1);
+            descriptionGravity = ta.getInteger(R.styleable.SwipeSelector_swipe_descriptionGravity,
+                    -1);
+            iconPlaceholderResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_iconPlaceholder,
+                    -1);
+            transition = ta.getInt(R.styleable.SwipeSelector_swipe_transition, 0);
+            stableHeight = ta.getBoolean(R.styleable.SwipeSelector_swipe_stableHeight, false);
+            engine = ta.getInt(R.styleable.SwipeSelector_swipe_engine, PagerEngine.VIEW_PAGER);
+        } finally {
+            ta.recycle();
+        }
+
+        Drawable leftButton = ContextCompat.getDrawable(context, leftButtonResource);
+        Drawable rightButton = ContextCompat.getDrawable(context, rightButtonResource);
+        mLeftButton = leftButton.getConstantState();
+        mRightButton = rightButton.getConstantState();
+        mIconPlaceholder = iconPlaceholderResource != -1
+                ? ContextCompat.getDrawable(context, iconPlaceholderResource).getConstantState() : null;
+
+        int sweetSixteen = (int) PixelUtils.dpToPixel(context, 16);
+        contentLeftPadding = leftButton.getIntrinsicWidth() + sweetSixteen;
+        contentRightPadding = rightButton.getIntrinsicWidth() + sweetSixteen;
+    }
+
+    /**
+     * @param context the Context of the selector
+     * @param attrs the attributes of the selector
+     * @param defStyleAttr the default style attribute of the selector
+     * @param defStyleRes the default style resource of the selector
+     * @return the style for these attributes, resolved now or shared with
+     * an earlier selector that had the same ones.
+     */
+    protected static SwipeStyle obtain(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        Resources.Theme theme = context.getTheme();
+        HashMap<Key, SwipeStyle> styles = CACHE.get(theme);
+
+        if (styles == null) {
+            styles = new HashMap<>();
+            CACHE.put(theme, styles);
+        }
+
+        Key key = new Key(context, attrs, defStyleAttr, defStyleRes);
+        SwipeStyle style = styles.get(key);
+
+        if (style == null) {
+            style = new SwipeStyle(context, attrs, defStyleAttr, defStyleRes);
+            styles.put(key, style);
+        }
+
+        return style;
+    }
+
+    protected Drawable newLeftButton(Context context) {
+        return newDrawable(context, mLeftButton, leftButtonResource);
+    }
+
+    protected Drawable newRightButton(Context context) {
+        return newDrawable(context, mRightButton, rightButtonResource);
+    }
+
+    /**
+     * @return the placeholder, or null if there isn't one.
+     */
+    protected Drawable newIconPlaceholder(Context context) {
+        return iconPlaceholderResource != -1
+                ? newDrawable(context, mIconPlaceholder, iconPlaceholderResource) : null;
+    }
+
+    private static Drawable newDrawable(Context context, Drawable.ConstantState state, int drawableRes) {
+        // Not every Drawable has a constant state.
+        return state != null ? state.newDrawable(context.getResources())
+                : ContextCompat.getDrawable(context, drawableRes);
+    }
+
+    /**
+     * What decides the resolved style, apart from the theme: the style and
+     * the default style, the attributes set right on the selector, and the
+     * configuration, for things like dimensions that depend on the screen.
+     */
+    private static class Key {
+        private final int style;
+        private final int defStyleAttr;
+        private final int defStyleRes;
+        private final String[] values;
+        private final Configuration configuration;
+
+        private Key(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+            this.defStyleAttr = defStyleAttr;
+            this.defStyleRes = defStyleRes;
+            this.values = new String[R.styleable.SwipeSelector.length];
+            this.configuration = new Configuration(context.getResources().getConfiguration());
+
+            if (attrs == null) {
+                style = 0;
+                return;
+            }
+
+            style = attrs.getStyleAttribute();
+
+            for (int i = 0; i < attrs.getAttributeCount(); i++) {
+                int index = indexOf(attrs.getAttributeNameResource(i));
+
+                if (index != -1) {
+                    values[index] = attrs.getAttributeValue(i);
+                }
+            }
+        }
+
+        private static int indexOf(int attr) {
+            for (int i = 0; i < R.styleable.SwipeSelector.length; i++) {
+                if (R.styleable.SwipeSelector[i] == attr) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key other = (Key) o;
+            return style == other.style
+                    && defStyleAttr == other.defStyleAttr
+                    && defStyleRes == other.defStyleRes
+                    && Arrays.equals(values, other.values)
+                    && configuration.equals(other.configuration);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = style;
+            result = 31 * result + defStyleAttr;
+            result = 31 * result + defStyleRes;
+            result = 31 * result + Arrays.hashCode(values);
+            result = 31 * result + configuration.hashCode();
+            return result;
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package com.github.antoniodisanto92.swipeselector;
 
-import android.graphics.drawable.ShapeDrawable;
-import android.graphics.drawable.shapes.OvalShape;
-
 /*
  * SwipeSelector library for Android
  * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
@@ -19,18 +16,31 @@ import android.graphics.drawable.shapes.OvalShape;
  *    See the License for the specific language governing permissions and
  *    limitations under the License.
  */
-class Indicator {
+
+/**
+ * How the pages of a {@link SwipeSelector} look while they're being
+ * swiped. Only the alpha, translation and scale of the pages change, so
+ * none of these cause a layout pass.
+ */
+public enum SwipeTransition {
+    /**
+     * The pages just slide, this is the default.
+     */
+    NONE,
+
+    /**
+     * The pages fade out as they slide away.
+     */
+    FADE,
+
+    /**
+     * The pages shrink as they slide away.
+     */
+    SCALE,
+
     /**
-     * Creates a new ShapeDrawable, in this case a circle.
-     * @param size the width and height for the circle
-     * @param color the color resource for the circle
-     * @return a nice and adorable tiny little circle indicator.
+     * The page on the left slides away as usual, while the one on the
+     * right stays put behind it, fading out and shrinking.
      */
-    protected static ShapeDrawable newOne(int size, int color) {
-        ShapeDrawable indicator = new ShapeDrawable(new OvalShape());
-        indicator.setIntrinsicWidth(size);
-        indicator.setIntrinsicHeight(size);
-        indicator.getPaint().setColor(color);
-        return indicator;
-    }
+    DEPTH
 }
@@ -0,0 +1,71 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+class TextAppearanceUtils {
+    // obtainStyledAttributes wants these sorted by their id.
+    private static final int[] APPEARANCE_ATTRS = {
+            android.R.attr.textSize,
+            android.R.attr.textStyle,
+            android.R.attr.textColor
+    };
+
+    private static final int DEFAULT_TEXT_SIZE = 14;
+
+    /**
+     * Builds a TextPaint that draws text the same way a TextView with the
+     * given TextAppearance would, for the views that draw text by themselves.
+     * @param context the Context for resolving the TextAppearance
+     * @param appearanceRes the TextAppearance style resource
+     * @param typeface a custom typeface, or null for the one in the style
+     * @return a paint ready for building text layouts.
+     */
+    protected static TextPaint newPaint(Context context, int appearanceRes, Typeface typeface) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.density = context.getResources().getDisplayMetrics().density;
+
+        int textStyle = Typeface.NORMAL;
+        TypedArray ta = context.obtainStyledAttributes(appearanceRes, APPEARANCE_ATTRS);
+
+        try {
+            paint.setTextSize(ta.getDimensionPixelSize(0,
+                    (int) (DEFAULT_TEXT_SIZE * context.getResources().getDisplayMetrics().scaledDensity)));
+            textStyle = ta.getInt(1, Typeface.NORMAL);
+
+            ColorStateList colors = ta.getColorStateList(2);
+            paint.setColor(colors != null ? colors.getDefaultColor() : Color.BLACK);
+        } finally {
+            ta.recycle();
+        }
+
+        if (typeface != null) {
+            paint.setTypeface(typeface);
+        } else {
+            paint.setTypeface(Typeface.defaultFromStyle(textStyle));
+        }
+
+        return paint;
+    }
+}
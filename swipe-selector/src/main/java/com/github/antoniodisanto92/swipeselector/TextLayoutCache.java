@@ -0,0 +1,203 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.support.v4.util.LruCache;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Text layouts for titles and descriptions, keyed by the text, the paint
+ * (one per text style), the width and the alignment. Layouts can be built
+ * ahead of time on the background thread with {@link #prefetch}; anything
+ * that isn't ready when it's needed is simply built right away.
+ * <p/>
+ * The pages of a SwipeSelector are TextViews, so it uses {@link #warm}
+ * instead, and keeps only how tall the text came out.
+ */
+class TextLayoutCache {
+    private static final int MAX_CACHED_LAYOUTS = 64;
+
+    private final LruCache<Key, StaticLayout> mLayouts = new LruCache<>(MAX_CACHED_LAYOUTS);
+
+    protected StaticLayout get(CharSequence text, TextPaint paint, int width, Layout.Alignment alignment) {
+        Key key = new Key(text, paint, width, alignment);
+        StaticLayout layout = mLayouts.get(key);
+
+        if (layout == null) {
+            layout = build(text, paint, width, alignment);
+            mLayouts.put(key, layout);
+        }
+
+        return layout;
+    }
+
+    protected void prefetch(final CharSequence text, TextPaint paint, final int width,
+                            final Layout.Alignment alignment) {
+        final Key key = new Key(text, paint, width, alignment);
+
+        if (mLayouts.get(key) != null) {
+            return;
+        }
+
+        // The paint might be used for drawing at the same time,
+        // so the background thread gets its own copy.
+        final TextPaint copy = new TextPaint(paint);
+
+        SwipeExecutors.background(new Runnable() {
+            @Override
+            public void run() {
+                if (mLayouts.get(key) == null) {
+                    mLayouts.put(key, build(text, copy, width, alignment));
+                }
+            }
+        });
+    }
+
+    protected void clear() {
+        mLayouts.evictAll();
+    }
+
+    /**
+     * Lays out the title and the description of a page on the background
+     * thread. That's for TextViews, which can't take a layout built
+     * elsewhere: the glyphs and word widths end up in the platform's text
+     * caches, which the whole process shares, so a TextView laying out the
+     * same text with the same paint later on mostly hits those. The layouts
+     * themselves are thrown away, but their heights are handed back on the
+     * main thread.
+     * @param description the description, or null if the page hides it
+     * @param width the width the TextViews will have at most
+     */
+    protected static void warm(final CharSequence title, final TextPaint titlePaint,
+                               final CharSequence description, final TextPaint descriptionPaint,
+                               final int width, final WarmCallback callback) {
+        final TextPaint titleCopy = new TextPaint(titlePaint);
+        final TextPaint descriptionCopy = new TextPaint(descriptionPaint);
+
+        SwipeExecutors.background(new Runnable() {
+            @Override
+            public void run() {
+                // A TextView without any text is still one line tall.
+                final int titleHeight = build(title != null ? title : "", titleCopy,
+                        width, Layout.Alignment.ALIGN_NORMAL).getHeight();
+                final int descriptionHeight = description != null ? build(description,
+                        descriptionCopy, width, Layout.Alignment.ALIGN_NORMAL).getHeight() : 0;
+
+                SwipeExecutors.main(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onTextWarmed(new WarmedText(title, titlePaint, description,
+                                descriptionPaint, width, titleHeight, descriptionHeight));
+                    }
+                });
+            }
+        });
+    }
+
+    interface WarmCallback {
+        /**
+         * Called on the main thread once the text has been laid out.
+         */
+        void onTextWarmed(WarmedText text);
+    }
+
+    /**
+     * How tall the title and the description of a page came out in
+     * {@link #warm}, for the paints and the width they were laid out with.
+     */
+    static class WarmedText {
+        protected final int titleHeight;
+        protected final int descriptionHeight;
+
+        private final CharSequence title;
+        private final TextPaint titlePaint;
+        private final CharSequence description;
+        private final TextPaint descriptionPaint;
+        private final int width;
+
+        private WarmedText(CharSequence title, TextPaint titlePaint, CharSequence description,
+                           TextPaint descriptionPaint, int width, int titleHeight, int descriptionHeight) {
+            this.title = title;
+            this.titlePaint = titlePaint;
+            this.description = description;
+            this.descriptionPaint = descriptionPaint;
+            this.width = width;
+            this.titleHeight = titleHeight;
+            this.descriptionHeight = descriptionHeight;
+        }
+
+        /**
+         * @return true if TextViews showing this text with these paints, at
+         * most this wide, would come out just as tall.
+         */
+        protected boolean matches(CharSequence title, TextPaint titlePaint, CharSequence description,
+                                  TextPaint descriptionPaint, int width) {
+            return width == this.width
+                    && titlePaint == this.titlePaint
+                    && descriptionPaint == this.descriptionPaint
+                    && equal(title, this.title)
+                    && equal(description, this.description);
+        }
+
+        private static boolean equal(CharSequence a, CharSequence b) {
+            return a == b || (a != null && a.equals(b));
+        }
+    }
+
+    private static StaticLayout build(CharSequence text, TextPaint paint, int width, Layout.Alignment alignment) {
+        // Same spacing and padding as a TextView uses by default.
+        return new StaticLayout(text, paint, width, alignment, 1f, 0f, true);
+    }
+
+    private static class Key {
+        private final CharSequence text;
+        private final TextPaint paint;
+        private final int width;
+        private final Layout.Alignment alignment;
+
+        private Key(CharSequence text, TextPaint paint, int width, Layout.Alignment alignment) {
+            this.text = text;
+            this.paint = paint;
+            this.width = width;
+            this.alignment = alignment;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key other = (Key) o;
+            return width == other.width
+                    && paint == other.paint
+                    && alignment == other.alignment
+                    && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = text.hashCode();
+            result = 31 * result + System.identityHashCode(paint);
+            result = 31 * result + width;
+            result = 31 * result + alignment.hashCode();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.Typeface;
+import android.util.Log;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Custom fonts loaded from the assets, shared by every selector in the
+ * process so each font file is only parsed once.
+ * <p/>
+ * Fonts can be warmed up on the background thread ahead of time. A selector
+ * that asks for a font that's still being loaded gets it through its
+ * callback once it's ready, and one that asks for a font nobody warmed up
+ * loads it right away, like it always did.
+ * <p/>
+ * Everything here runs on the main thread, except the loading itself.
+ */
+class TypefaceCache {
+    private static final String TAG = "SwipeSelector";
+
+    private static final HashMap<String, Typeface> CACHE = new HashMap<>();
+
+    // Fonts that couldn't be loaded in the background, so whoever asks for
+    // them later gets the same error a synchronous load would have thrown.
+    private static final HashMap<String, RuntimeException> FAILED = new HashMap<>();
+
+    // The fonts being loaded in the background, and who's waiting for them.
+    // The waiters are selectors and their adapters, which shouldn't be kept
+    // alive just because a font they asked for is slow to load, so they're
+    // only held weakly. Whoever passes a callback has to keep it around.
+    private static final HashMap<String, ArrayList<WeakReference<Callback>>> PENDING = new HashMap<>();
+
+    interface Callback {
+        /**
+         * Called on the main thread when a font that was still being loaded
+         * is ready.
+         * @param typeface the font, or null if it couldn't be loaded, in
+         * which case the error has been logged
+         */
+        void onTypefaceLoaded(Typeface typeface);
+    }
+
+    /**
+     * Starts loading the font on the background thread, unless it's
+     * already loaded or being loaded.
+     * @param context any Context, only its assets are used
+     * @param assetPath the path of the font in the assets
+     */
+    protected static void warm(Context context, final String assetPath) {
+        if (CACHE.containsKey(assetPath) || FAILED.containsKey(assetPath)
+                || PENDING.containsKey(assetPath)) {
+            return;
+        }
+
+        final AssetManager assets = context.getApplicationContext().getAssets();
+        PENDING.put(assetPath, new ArrayList<WeakReference<Callback>>());
+
+        SwipeExecutors.background(new Runnable() {
+            @Override
+            public void run() {
+                Typeface loaded = null;
+                RuntimeException failure = null;
+
+                try {
+                    loaded = Typeface.createFromAsset(assets, assetPath);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+
+                final Typeface typeface = loaded;
+                final RuntimeException error = failure;
+
+                SwipeExecutors.main(new Runnable() {
+                    @Override
+                    public void run() {
+                        onLoaded(assetPath, typeface, error);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @param context any Context, only its assets are used
+     * @param assetPath the path of the font in the assets
+     * @param callback notified when the font is ready, if it's still being
+     * loaded in the background
+     * @return the font, or null if it's still being loaded.
+     * @throws RuntimeException if the font can't be loaded, the same as
+     * {@link Typeface#createFromAsset(AssetManager, String)}, even if it was
+     * warmed up and failed in the background.
+     */
+    protected static Typeface get(Context context, String assetPath, Callback callback) {
+        Typeface typeface = CACHE.get(assetPath);
+
+        if (typeface != null) {
+            return typeface;
+        }
+
+        RuntimeException error = FAILED.get(assetPath);
+
+        if (error != null) {
+            throw error;
+        }
+
+        ArrayList<WeakReference<Callback>> callbacks = PENDING.get(assetPath);
+
+        if (callbacks != null) {
+            callbacks.add(new WeakReference<>(callback));
+            return null;
+        }
+
+        typeface = Typeface.createFromAsset(context.getAssets(), assetPath);
+        CACHE.put(assetPath, typeface);
+        return typeface;
+    }
+
+    private static void onLoaded(String assetPath, Typeface typeface, RuntimeException error) {
+        if (typeface != null) {
+            CACHE.put(assetPath, typeface);
+        } else {
+            FAILED.put(assetPath, error);
+            Log.e(TAG, "Couldn't load the custom font " + assetPath + ".", error);
+        }
+
+        ArrayList<WeakReference<Callback>> callbacks = PENDING.remove(assetPath);
+
+        for (int i = 0; i < callbacks.size(); i++) {
+            Callback callback = callbacks.get(i).get();
+
+            if (callback != null) {
+                callback.onTypefaceLoaded(typeface);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.util.Log;
+
+import java.util.List;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Maps the values of items to their positions, so finding an item by its
+ * value doesn't have to go through all of them. When several items share
+ * a value, the first one wins, just like it did with a linear search, and
+ * a warning is logged for the others.
+ * <p/>
+ * Items without a value are indexed by the item itself. See
+ * {@link KeyIndex} for how whole number values are kept.
+ */
+class ValueIndex extends KeyIndex {
+    private static final String TAG = "SwipeSelector";
+
+    /**
+     * Indexes all the items from scratch, logging a warning for every
+     * value that's used more than once.
+     */
+    protected void build(List<SwipeItem> items) {
+        Object[] keys = new Object[items.size()];
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = items.get(i).key();
+        }
+
+        build(keys);
+    }
+
+    /**
+     * Indexes the items straight from their arrays, without creating a
+     * SwipeItem for any of them. Items without a value can't be found by
+     * their value anyway, so they're left out.
+     */
+    protected void build(CompactSwipeItems items) {
+        clear();
+
+        for (int i = 0; i < items.size(); i++) {
+            int existing = -1;
+
+            if (items.hasId(i)) {
+                existing = putId(items.id(i), i);
+            } else if (items.value(i) != null) {
+                existing = putKey(items.value(i), i);
+            }
+
+            // Only box the value for the warning.
+            if (existing != -1) {
+                warnIfDuplicate(existing, i, items.value(i));
+            }
+        }
+    }
+
+    protected void add(SwipeItem item, int position, boolean reportDuplicate) {
+        int existing = item.hasId() ? putId(item.id(), position) : putKey(item.key(), position);
+
+        if (reportDuplicate) {
+            warnIfDuplicate(existing, position, item.key());
+        }
+    }
+
+    @Override
+    protected void onDuplicateKey(int existing, int position, Object key) {
+        warnIfDuplicate(existing, position, key);
+    }
+
+    protected void remove(SwipeItem item, int position) {
+        removeKey(item.key(), position);
+    }
+
+    /**
+     * Re-indexes everything from the given position on, after items were
+     * inserted, removed or moved there.
+     *
+     * @param items the items after the change
+     * @param start the first position that changed
+     * @param changed the position of a new item that should be checked
+     * for a duplicate value, or -1 if there isn't one.
+     */
+    protected void reindexFrom(List<SwipeItem> items, int start, int changed) {
+        removeFrom(start);
+
+        for (int i = start; i < items.size(); i++) {
+            add(items.get(i), i, i == changed);
+        }
+    }
+
+    private static void warnIfDuplicate(int existing, int position, Object value) {
+        if (existing != -1 && existing != position) {
+            Log.w(TAG, "The items at positions " + existing + " and " + position
+                    + " have the same value " + value + ". Only the first one "
+                    + "can be found with selectItemWithValue().");
+        }
+    }
+}
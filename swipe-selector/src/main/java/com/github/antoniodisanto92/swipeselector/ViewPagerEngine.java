@@ -0,0 +1,138 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.support.v4.view.ViewPager;
+import android.view.View;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * The original engine: a {@link WrappingPager} with the SwipeAdapter as its
+ * PagerAdapter. ViewPager has no finer grained change notifications, so all
+ * of them refresh the whole pager, and SwipeAdapter.getItemPosition() works
+ * out which pages actually changed.
+ */
+class ViewPagerEngine implements PagerEngine {
+    private final WrappingPager mPager;
+    private SwipeAdapter mAdapter;
+
+    protected ViewPagerEngine(WrappingPager pager) {
+        mPager = pager;
+    }
+
+    @Override
+    public View getView() {
+        return mPager;
+    }
+
+    @Override
+    public void setAdapter(SwipeAdapter adapter) {
+        mAdapter = adapter;
+        mPager.setAdapter(adapter);
+    }
+
+    @Override
+    public void addOnPageChangeListener(ViewPager.OnPageChangeListener listener) {
+        mPager.addOnPageChangeListener(listener);
+    }
+
+    @Override
+    public void setCurrentItem(int position, boolean animate) {
+        mPager.setCurrentItem(position, animate);
+    }
+
+    @Override
+    public int getCurrentItem() {
+        return mPager.getCurrentItem();
+    }
+
+    @Override
+    public void detachPages() {
+        // Dropping the adapter destroys every page, and setting it again
+        // while it has no items makes the next layout start from scratch
+        // at whatever position is set next. Otherwise a far jump would
+        // instantiate the new pages before destroying the old ones.
+        mPager.setAdapter(null);
+        mPager.setAdapter(mAdapter);
+    }
+
+    @Override
+    public void notifyDataSetChanged() {
+        mAdapter.notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyItemInserted(int position) {
+        mAdapter.notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyItemRemoved(int position) {
+        mAdapter.notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyItemMoved(int fromPosition, int toPosition) {
+        mAdapter.notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyItemRangeChanged(int startPosition, int count) {
+        mAdapter.notifyDataSetChanged();
+    }
+
+    @Override
+    public float getPagePosition(View page) {
+        int pageWidth = mPager.getMeasuredWidth() - mPager.getPaddingLeft() - mPager.getPaddingRight();
+
+        if (pageWidth == 0) {
+            return 0;
+        }
+
+        return (float) (page.getLeft() - mPager.getScrollX() - mPager.getPaddingLeft()) / pageWidth;
+    }
+
+    @Override
+    public void setMaxRecycledPages(int max) {
+        // The adapter recycles the pages itself.
+    }
+
+    @Override
+    public void setHeightProvider(WrappingPager.HeightProvider heightProvider) {
+        mPager.setHeightProvider(heightProvider);
+    }
+
+    @Override
+    public void setMetricsListener(SwipeMetricsListener listener) {
+        mPager.setMetricsListener(listener);
+    }
+
+    @Override
+    public int getMeasurePassCount() {
+        return mPager.getMeasurePassCount();
+    }
+
+    @Override
+    public int getChildMeasureCount() {
+        return mPager.getChildMeasureCount();
+    }
+
+    @Override
+    public void resetMeasureCounts() {
+        mPager.resetMeasureCounts();
+    }
+}
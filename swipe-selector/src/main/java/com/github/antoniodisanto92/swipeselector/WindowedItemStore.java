@@ -0,0 +1,242 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.os.Looper;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Keeps only the items near the selected position in memory, loading them
+ * from a {@link SwipeDataSource} in blocks of {@link #BLOCK_SIZE} items.
+ */
+class WindowedItemStore implements ItemStore {
+    protected static final int BLOCK_SIZE = 32;
+
+    // Blocks this close to the selected one get loaded, and blocks
+    // further away than EVICT_DISTANCE get thrown away. The gap
+    // between the two keeps us from reloading a block over and over
+    // when the user swipes back and forth over a block boundary.
+    private static final int LOAD_DISTANCE = 1;
+    private static final int EVICT_DISTANCE = 2;
+
+    private final SwipeDataSource mSource;
+    private final Listener mListener;
+    private final int mCount;
+
+    private final SparseArray<SwipeItem[]> mBlocks = new SparseArray<>();
+    private final SparseBooleanArray mLoading = new SparseBooleanArray();
+
+    // Blocks a page asked for through get(). These are kept however far
+    // they are from mCurrentBlock, since the pager instantiates the page
+    // it jumps to before the new position reaches onPositionChanged().
+    private final SparseBooleanArray mRequested = new SparseBooleanArray();
+    private final ValueIndex mIndex = new ValueIndex();
+    private int mCurrentBlock;
+    private boolean mReleased;
+
+    // The block get() is waiting for while it asks the source, or -1. If
+    // the source delivers it right away, there's nobody to notify: get()
+    // just reads the block from mBlocks. Anything else is announced.
+    private int mWaitingBlock = -1;
+
+    protected WindowedItemStore(SwipeDataSource source, Listener listener) {
+        mSource = source;
+        mListener = listener;
+        mCount = source.getCount();
+    }
+
+    @Override
+    public int size() {
+        return mCount;
+    }
+
+    @Override
+    public SwipeItem get(int position) {
+        int block = position / BLOCK_SIZE;
+        SwipeItem[] items = mBlocks.get(block);
+
+        if (items == null) {
+            load(block, true);
+            items = mBlocks.get(block);
+        }
+
+        int index = position % BLOCK_SIZE;
+        return items != null && index < items.length ? items[index] : null;
+    }
+
+    @Override
+    public int indexOfValue(Object value) {
+        // Only the loaded items are indexed, the rest are unknown.
+        return mIndex.get(value);
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        return mIndex.get(id);
+    }
+
+    @Override
+    public int indexOf(SwipeItem item) {
+        return mIndex.get(item.key());
+    }
+
+    @Override
+    public List<SwipeItem> getLoadedItems() {
+        ArrayList<SwipeItem> items = new ArrayList<>();
+
+        for (int i = 0; i < mBlocks.size(); i++) {
+            items.addAll(Arrays.asList(mBlocks.valueAt(i)));
+        }
+
+        return items;
+    }
+
+    @Override
+    public void onPositionChanged(int position) {
+        mCurrentBlock = position / BLOCK_SIZE;
+
+        boolean evicted = false;
+
+        for (int i = mBlocks.size() - 1; i >= 0; i--) {
+            if (Math.abs(mBlocks.keyAt(i) - mCurrentBlock) > EVICT_DISTANCE) {
+                unindex(mBlocks.keyAt(i), mBlocks.valueAt(i));
+                mBlocks.removeAt(i);
+                evicted = true;
+            }
+        }
+
+        // A value the evicted items shared with items that are still here
+        // is only indexed at one of them, so give it back to the others.
+        if (evicted) {
+            for (int i = 0; i < mBlocks.size(); i++) {
+                index(mBlocks.keyAt(i), mBlocks.valueAt(i), false);
+            }
+        }
+
+        int lastBlock = (mCount - 1) / BLOCK_SIZE;
+        for (int block = Math.max(mCurrentBlock - LOAD_DISTANCE, 0);
+             block <= Math.min(mCurrentBlock + LOAD_DISTANCE, lastBlock); block++) {
+            if (mBlocks.get(block) == null) {
+                load(block, false);
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        mReleased = true;
+        mBlocks.clear();
+        mLoading.clear();
+        mRequested.clear();
+        mIndex.clear();
+    }
+
+    /**
+     * @param block the block to load
+     * @param requested true if get() asked for it and reads it from
+     * mBlocks right after this returns.
+     */
+    private void load(final int block, boolean requested) {
+        if (requested) {
+            mRequested.put(block, true);
+        }
+
+        if (mLoading.get(block)) {
+            return;
+        }
+
+        mLoading.put(block, true);
+
+        int start = block * BLOCK_SIZE;
+        int count = Math.min(BLOCK_SIZE, mCount - start);
+
+        mWaitingBlock = requested ? block : -1;
+        mSource.loadItems(start, count, new SwipeDataSource.Callback() {
+            @Override
+            public void onItemsLoaded(final int startPosition, final SwipeItem[] items) {
+                if (Looper.myLooper() == Looper.getMainLooper()) {
+                    onBlockLoaded(block, items);
+                } else {
+                    SwipeExecutors.main(new Runnable() {
+                        @Override
+                        public void run() {
+                            onBlockLoaded(block, items);
+                        }
+                    });
+                }
+            }
+        });
+        mWaitingBlock = -1;
+    }
+
+    private void onBlockLoaded(int block, SwipeItem[] items) {
+        mLoading.delete(block);
+
+        boolean requested = mRequested.get(block);
+        mRequested.delete(block);
+
+        // Either the selector moved on to other items or the user
+        // swiped far away while this block was loading, and no page
+        // is waiting for it.
+        if (mReleased || (!requested && Math.abs(block - mCurrentBlock) > EVICT_DISTANCE)) {
+            return;
+        }
+
+        int start = block * BLOCK_SIZE;
+        int count = Math.min(BLOCK_SIZE, mCount - start);
+
+        // The pager would only find out when it asks for a missing item.
+        if (items == null || items.length != count) {
+            throw new IllegalArgumentException("The SwipeDataSource was asked for "
+                    + count + " items starting at " + start + ", but it loaded "
+                    + (items == null ? "null" : items.length + " items") + ".");
+        }
+
+        mBlocks.put(block, items);
+        index(block, items, true);
+
+        if (block != mWaitingBlock) {
+            mListener.onItemsLoaded(block * BLOCK_SIZE, items.length);
+        }
+    }
+
+    private void index(int block, SwipeItem[] items, boolean reportDuplicates) {
+        int start = block * BLOCK_SIZE;
+
+        for (int i = 0; i < items.length; i++) {
+            mIndex.add(items[i], start + i, reportDuplicates);
+        }
+    }
+
+    /**
+     * Only forgets the values that are still indexed at these items, not
+     * the ones that belong to another block.
+     */
+    private void unindex(int block, SwipeItem[] items) {
+        int start = block * BLOCK_SIZE;
+
+        for (int i = 0; i < items.length; i++) {
+            mIndex.remove(items[i], start + i);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.antoniodisanto92.swipeselector;
 
 import android.content.Context;
+import android.support.v4.os.TraceCompat;
 import android.support.v4.view.ViewPager;
 import android.util.AttributeSet;
 import android.view.View;
@@ -23,6 +24,20 @@ import android.view.View;
  *    limitations under the License.
  */
 public class WrappingPager extends ViewPager {
+    interface HeightProvider {
+        /**
+         * @param widthMeasureSpec the width the pages are measured with
+         * @return the height the pager should be at least, or 0 for
+         * just wrapping the pages.
+         */
+        int getMinimumHeight(int widthMeasureSpec);
+    }
+
+    private HeightProvider mHeightProvider;
+    private SwipeMetricsListener mMetricsListener;
+    private int mMeasurePassCount;
+    private int mChildMeasureCount;
+
     public WrappingPager(Context context) {
         super(context);
     }
@@ -31,19 +46,86 @@ public class WrappingPager extends ViewPager {
         super(context, attrs);
     }
 
+    /**
+     * @return how many times this pager has been measured.
+     */
+    public int getMeasurePassCount() {
+        return mMeasurePassCount;
+    }
+
+    /**
+     * @return how many times a page had to be measured for its natural
+     * height, instead of using the height cached for it.
+     */
+    public int getChildMeasureCount() {
+        return mChildMeasureCount;
+    }
+
+    void setHeightProvider(HeightProvider heightProvider) {
+        mHeightProvider = heightProvider;
+        requestLayout();
+    }
+
+    void setMetricsListener(SwipeMetricsListener listener) {
+        mMetricsListener = listener;
+    }
+
+    public void resetMeasureCounts() {
+        mMeasurePassCount = 0;
+        mChildMeasureCount = 0;
+    }
+
     /**
     * Copy-paste coding made possible by http://stackoverflow.com/a/20784791
+    * <p/>
+    * Pages bound by a SwipeAdapter remember their height for the width and
+    * content they were measured with, so they're only measured for it again
+    * when one of those changes. Measuring them with a different height spec
+    * every pass would also defeat the measure cache of the View itself when
+    * super.onMeasure() measures them again.
     */
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        TraceCompat.beginSection("SwipeSelector.measure");
+        long start = mMetricsListener != null ? System.nanoTime() : 0;
+
+        try {
+            measurePages(widthMeasureSpec, heightMeasureSpec);
+        } finally {
+            if (mMetricsListener != null) {
+                mMetricsListener.onPagerMeasured(System.nanoTime() - start);
+            }
+
+            TraceCompat.endSection();
+        }
+    }
+
+    private void measurePages(int widthMeasureSpec, int heightMeasureSpec) {
+        mMeasurePassCount++;
+
         int height = 0;
         for (int i = 0; i < getChildCount(); i++) {
             View child = getChildAt(i);
-            child.measure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
-            int h = child.getMeasuredHeight();
+            PageHolder holder = child.getTag() instanceof PageHolder ? (PageHolder) child.getTag() : null;
+            int h = holder != null ? holder.getCachedHeight(widthMeasureSpec) : -1;
+
+            if (h == -1) {
+                child.measure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+                h = child.getMeasuredHeight();
+                mChildMeasureCount++;
+
+                if (holder != null) {
+                    holder.setCachedHeight(widthMeasureSpec, h);
+                }
+            }
+
             if (h > height) height = h;
         }
 
+        if (mHeightProvider != null) {
+            height = Math.max(height, mHeightProvider.getMinimumHeight(widthMeasureSpec));
+        }
+
         heightMeasureSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
         super.onMeasure(widthMeasureSpec, heightMeasureSpec);
     }
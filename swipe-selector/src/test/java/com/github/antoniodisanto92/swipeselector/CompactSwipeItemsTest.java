@@ -0,0 +1,240 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import org.junit.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+public class CompactSwipeItemsTest {
+    // How a 64-bit JVM with compressed references lays out objects.
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+
+    private interface Catalog {
+        Object build(int count);
+    }
+
+    // What setItems(SwipeItem...) keeps around: the items and their index.
+    private static final Catalog LIST = new Catalog() {
+        @Override
+        public Object build(int count) {
+            ArrayList<SwipeItem> items = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                items.add(new SwipeItem(i, R.string.app_name, R.string.app_name,
+                        R.drawable.ic_action_navigation_chevron_right));
+            }
+
+            ValueIndex index = new ValueIndex();
+            index.build(items);
+            return new Object[]{items, index};
+        }
+    };
+
+    private static final Catalog COMPACT = new Catalog() {
+        @Override
+        public Object build(int count) {
+            CompactSwipeItems items = new CompactSwipeItems(count);
+
+            for (int i = 0; i < count; i++) {
+                items.add(i, R.string.app_name, R.string.app_name,
+                        R.drawable.ic_action_navigation_chevron_right);
+            }
+
+            ValueIndex index = new ValueIndex();
+            index.build(items);
+            return new Object[]{items, index};
+        }
+    };
+
+    @Test
+    public void newItem_matchesWhatWasAdded() throws Exception {
+        CompactSwipeItems items = new CompactSwipeItems(1)
+                .add(7, "Seven", "An Integer")
+                .add(8L, R.string.app_name, R.string.app_name,
+                        R.drawable.ic_action_navigation_chevron_right, SwipeIconGravity.RIGHT)
+                .add("nine", "Nine", null);
+        items.setTitleGravity(2, SwipeIconGravity.CENTER);
+
+        SwipeItem first = items.newItem(0);
+        assertEquals(7, first.value);
+        assertEquals("Seven", first.title);
+        assertEquals(-1, first.iconRes);
+
+        SwipeItem second = items.newItem(1);
+        assertEquals(8L, second.value);
+        assertEquals(R.string.app_name, second.titleRes);
+        assertEquals(R.drawable.ic_action_navigation_chevron_right, second.iconRes);
+        assertEquals(SwipeIconGravity.RIGHT, second.iconGravity);
+        assertEquals(SwipeIconGravity.DEFAULT, second.titleGravity);
+
+        SwipeItem third = items.newItem(2);
+        assertEquals("nine", third.value);
+        assertEquals(null, third.description);
+        assertEquals(SwipeIconGravity.CENTER, third.titleGravity);
+
+        ValueIndex index = new ValueIndex();
+        index.build(items);
+        assertEquals(1, index.get(8));
+        assertEquals(2, index.get("nine"));
+    }
+
+    @Test
+    public void heap_tenThousandItems() throws Exception {
+        assertSmaller(10000);
+    }
+
+    @Test
+    public void heap_fiftyThousandItems() throws Exception {
+        assertSmaller(50000);
+    }
+
+    @Test
+    public void heap_hundredThousandItems() throws Exception {
+        assertSmaller(100000);
+    }
+
+    private static void assertSmaller(int count) throws IllegalAccessException {
+        long list = estimateSize(LIST.build(count));
+        long compact = estimateSize(COMPACT.build(count));
+
+        // The index of the values costs the same either way and makes up
+        // most of what's left, so the items themselves shrink by a lot
+        // more than this.
+        assertTrue(count + " items took " + compact + " bytes compact and "
+                + list + " bytes as SwipeItems", compact < list * 0.6);
+    }
+
+    /**
+     * Adds up the size of an object and everything it references, laid out
+     * the way a 64-bit JVM with compressed references does it. Objects from
+     * java.* only count themselves, except that Collections count their
+     * backing array and elements too. Unlike measuring the heap, this comes
+     * out the same on every run.
+     */
+    private static long estimateSize(Object root) throws IllegalAccessException {
+        IdentityHashMap<Object, Boolean> seen = new IdentityHashMap<>();
+        ArrayDeque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        long size = 0;
+
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+
+            if (seen.put(object, Boolean.TRUE) != null) {
+                continue;
+            }
+
+            Class<?> type = object.getClass();
+
+            if (type.isArray()) {
+                Class<?> component = type.getComponentType();
+                int length = Array.getLength(object);
+                size += align(ARRAY_HEADER + (long) length * sizeOf(component));
+
+                if (!component.isPrimitive()) {
+                    for (Object element : (Object[]) object) {
+                        if (element != null) {
+                            pending.push(element);
+                        }
+                    }
+                }
+            } else if (isJava(type)) {
+                size += shallowSize(type);
+
+                if (object instanceof Collection) {
+                    Collection<?> elements = (Collection<?>) object;
+                    size += align(ARRAY_HEADER + (long) elements.size() * REFERENCE);
+
+                    for (Object element : elements) {
+                        if (element != null) {
+                            pending.push(element);
+                        }
+                    }
+                }
+            } else {
+                size += shallowSize(type);
+
+                for (Class<?> c = type; !isJava(c); c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                            continue;
+                        }
+
+                        field.setAccessible(true);
+                        Object value = field.get(object);
+
+                        if (value != null) {
+                            pending.push(value);
+                        }
+                    }
+                }
+            }
+        }
+
+        return size;
+    }
+
+    private static boolean isJava(Class<?> type) {
+        return type.getName().startsWith("java.");
+    }
+
+    private static long shallowSize(Class<?> type) {
+        long size = OBJECT_HEADER;
+
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    size += sizeOf(field.getType());
+                }
+            }
+        }
+
+        return align(size);
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+
+        return REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.RelativeLayout;
+import android.widget.TextView;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.internal.Shadow;
+import org.robolectric.shadows.ShadowView;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Robolectric shadows that count the findViewById() calls made on any view.
+ * <p/>
+ * Robolectric runs View.findViewById() on the shadow of the view it's
+ * called on, which is the shadow registered for the closest class of that
+ * view. So every view class a selector is made of gets a shadow here, and
+ * they all extend the one that counts. Apart from counting they leave
+ * everything to the real framework code, including what Robolectric's own
+ * ShadowViewGroup, ShadowTextView and friends would otherwise fake.
+ */
+public class CountingShadows {
+    private static int sFindViewByIdCalls;
+    private static int sDepth;
+
+    /**
+     * @return how many times findViewById() was called since the last
+     * {@link #reset()}. A ViewGroup looks through its children with
+     * findViewById() as well, but that only counts as the one call.
+     */
+    public static int getFindViewByIdCalls() {
+        return sFindViewByIdCalls;
+    }
+
+    public static void reset() {
+        sFindViewByIdCalls = 0;
+    }
+
+    @Implements(View.class)
+    public static class CountingShadowView extends ShadowView {
+        @Implementation
+        public View findViewById(int id) {
+            if (sDepth++ == 0) {
+                sFindViewByIdCalls++;
+            }
+
+            try {
+                return Shadow.directlyOn(realView, View.class).findViewById(id);
+            } finally {
+                sDepth--;
+            }
+        }
+    }
+
+    @Implements(ViewGroup.class)
+    public static class CountingShadowViewGroup extends CountingShadowView {
+    }
+
+    @Implements(FrameLayout.class)
+    public static class CountingShadowFrameLayout extends CountingShadowView {
+    }
+
+    @Implements(LinearLayout.class)
+    public static class CountingShadowLinearLayout extends CountingShadowView {
+    }
+
+    @Implements(RelativeLayout.class)
+    public static class CountingShadowRelativeLayout extends CountingShadowView {
+    }
+
+    @Implements(TextView.class)
+    public static class CountingShadowTextView extends CountingShadowView {
+    }
+
+    @Implements(ImageView.class)
+    public static class CountingShadowImageView extends CountingShadowView {
+    }
+}
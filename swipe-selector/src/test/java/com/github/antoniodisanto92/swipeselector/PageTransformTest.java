@@ -0,0 +1,131 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+public class PageTransformTest {
+    private static final float DELTA = 0.0001f;
+
+    // About two and a half minutes of swiping at 60fps.
+    private static final int FRAMES = 10000;
+
+    @Test
+    public void none_leavesPagesAlone() throws Exception {
+        PageTransform transform = new PageTransform();
+        transform.compute(SwipeTransition.NONE, 0.5f);
+
+        assertEquals(1, transform.alpha, DELTA);
+        assertEquals(1, transform.scale, DELTA);
+        assertEquals(0, transform.translationX, DELTA);
+    }
+
+    @Test
+    public void fade_fadesWithDistance() throws Exception {
+        PageTransform transform = new PageTransform();
+
+        transform.compute(SwipeTransition.FADE, 0);
+        assertEquals(1, transform.alpha, DELTA);
+
+        transform.compute(SwipeTransition.FADE, -0.25f);
+        assertEquals(0.75f, transform.alpha, DELTA);
+
+        transform.compute(SwipeTransition.FADE, 3);
+        assertEquals(0, transform.alpha, DELTA);
+    }
+
+    @Test
+    public void scale_neverGoesBelowMinimum() throws Exception {
+        PageTransform transform = new PageTransform();
+
+        transform.compute(SwipeTransition.SCALE, 1);
+        assertEquals(0.85f, transform.scale, DELTA);
+
+        transform.compute(SwipeTransition.SCALE, -5);
+        assertEquals(0.85f, transform.scale, DELTA);
+    }
+
+    @Test
+    public void depth_keepsRightPageInPlace() throws Exception {
+        PageTransform transform = new PageTransform();
+
+        transform.compute(SwipeTransition.DEPTH, -0.5f);
+        assertEquals(1, transform.alpha, DELTA);
+        assertEquals(0, transform.translationX, DELTA);
+
+        transform.compute(SwipeTransition.DEPTH, 0.5f);
+        assertEquals(0.5f, transform.alpha, DELTA);
+        assertEquals(0.875f, transform.scale, DELTA);
+        assertEquals(-0.5f, transform.translationX, DELTA);
+    }
+
+    @Test
+    public void scriptedScroll_doesNotAllocate() throws Exception {
+        assumeTrue(TestUtils.countsAllocations());
+
+        PageTransform transform = new PageTransform();
+        SwipeTransition[] transitions = SwipeTransition.values();
+
+        // Let the JIT and the class loading settle first.
+        scroll(transform, transitions);
+
+        long before = TestUtils.allocatedBytes();
+        long overhead = TestUtils.allocatedBytes() - before;
+
+        before = TestUtils.allocatedBytes();
+        float checksum = scroll(transform, transitions);
+        long allocated = TestUtils.allocatedBytes() - before - overhead;
+
+        // The JIT or the JVM itself might allocate a few bytes on this
+        // thread now and then, but a single object per frame would add
+        // up to way more than a byte per frame.
+        assertTrue("Allocated " + allocated + " bytes over " + FRAMES
+                + " frames (checksum " + checksum + ")", allocated < FRAMES);
+    }
+
+    /**
+     * Swipes back and forth over ten pages, transforming the three pages
+     * a pager holds at a time on every frame, with every transition.
+     */
+    private static float scroll(PageTransform transform, SwipeTransition[] transitions) {
+        float checksum = 0;
+
+        for (int frame = 0; frame < FRAMES; frame++) {
+            float scroll = (frame % 600) / 60f;
+
+            if ((frame / 600) % 2 == 1) {
+                scroll = 10 - scroll;
+            }
+
+            int current = (int) scroll;
+
+            for (int t = 0; t < transitions.length; t++) {
+                for (int page = current - 1; page <= current + 1; page++) {
+                    transform.compute(transitions[t], page - scroll);
+                    checksum += transform.alpha + transform.scale + transform.translationX;
+                }
+            }
+        }
+
+        return checksum;
+    }
+}
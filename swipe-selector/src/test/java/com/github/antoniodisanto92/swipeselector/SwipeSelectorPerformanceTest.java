@@ -0,0 +1,451 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.content.Context;
+import android.os.Parcelable;
+import android.os.SystemClock;
+import android.support.v4.view.ViewPager;
+import android.support.v7.view.ContextThemeWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Drives a real SwipeSelector through the same scripted scenarios every
+ * time and fails when it inflates, looks up, measures or allocates more
+ * than it should. The limits are fixed on purpose: if a change needs more,
+ * raise them in the same change and say why.
+ * <p/>
+ * What Robolectric and the framework allocate for the same calls is
+ * measured first and taken off, so the allocation limits only cover what
+ * the selector itself does on top of that.
+ * <p/>
+ * The view lookups are counted by {@link CountingShadows}, which is why
+ * every view class in the selector has one of its shadows registered here.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23, shadows = {
+        CountingShadows.CountingShadowView.class,
+        CountingShadows.CountingShadowViewGroup.class,
+        CountingShadows.CountingShadowFrameLayout.class,
+        CountingShadows.CountingShadowLinearLayout.class,
+        CountingShadows.CountingShadowRelativeLayout.class,
+        CountingShadows.CountingShadowTextView.class,
+        CountingShadows.CountingShadowImageView.class
+})
+public class SwipeSelectorPerformanceTest {
+    private static final int ITEM_COUNT = 1000;
+    private static final int SELECTION_STORM = 1000;
+    private static final int WIDTH = 1080;
+
+    // A swipe drags the page three quarters of the way over this many
+    // frames, and the pager gets up to this many frames to settle after.
+    private static final int DRAG_FRAMES = 12;
+    private static final int MAX_SETTLE_FRAMES = 60;
+    private static final long FRAME_MILLIS = 16;
+
+    // The pager holds the selected page and one on each side, and every
+    // other page should come out of the recycler.
+    private static final int MAX_PAGES_INFLATED = 3;
+
+    // When jumping far away, the pager adds the new page and the one to
+    // its left before it gives back the old ones, so up to five pages
+    // are around at once.
+    private static final int MAX_PAGES_INFLATED_JUMPING = 5;
+
+    // PageHolder looks up the icon, title and description once per
+    // inflated page, binding goes through the holder after that.
+    private static final int VIEW_LOOKUPS_PER_PAGE = 3;
+
+    // The RelativeLayout inside the selector measures the pager twice
+    // per layout, and nothing should make it measure more than that.
+    private static final int MAX_MEASURE_PASSES_PER_SWIPE = 2;
+
+    // With the dragging itself taken off, a swipe rebinds one recycled
+    // page, which is mostly the TextViews making layouts for their new
+    // text. Inflating a page would take several times this.
+    private static final long MAX_BYTES_PER_SWIPE = 32 * 1024;
+
+    // A far jump rebinds up to three pages, with nothing laid out yet.
+    private static final long MAX_BYTES_PER_SELECTION = 32 * 1024;
+
+    // The list of items and the index of their values, and nothing per
+    // item beyond that.
+    private static final long MAX_BYTES_PER_ITEM = 64;
+
+    // Rebinding the three pages around the restored selection and
+    // measuring them.
+    private static final long MAX_BYTES_RESTORE = 96 * 1024;
+
+    private Context mContext;
+    private SwipeItem[] mItems;
+    private Counter mCounter;
+
+    @Before
+    public void setUp() {
+        mContext = new ContextThemeWrapper(RuntimeEnvironment.application, R.style.Theme_AppCompat_Light);
+        mItems = new SwipeItem[ITEM_COUNT];
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            mItems[i] = new SwipeItem(i, "Item " + i, i % 2 == 0 ? "Description " + i : null);
+        }
+
+        mCounter = new Counter();
+    }
+
+    @Test
+    public void setItems_thousandItems() {
+        SwipeSelector selector = newSelector();
+
+        // Let the class loading settle first, then measure what setting a
+        // single item costs, which is all the work that isn't per item.
+        selector.setItems(mItems);
+        selector = newSelector();
+        long baseline = allocatedSettingItems(selector, new SwipeItem[] { mItems[0] });
+
+        selector = newSelector();
+        long allocated = allocatedSettingItems(selector, mItems);
+        assertAllocatedAtMost("setItems()", allocated - baseline, MAX_BYTES_PER_ITEM * ITEM_COUNT);
+
+        selector.resetMeasureCounts();
+        TestUtils.layout(selector, WIDTH);
+
+        assertTrue("Inflated " + mCounter.pagesInflated + " pages",
+                mCounter.pagesInflated <= MAX_PAGES_INFLATED);
+        assertViewLookups("Laying out");
+        assertTrue("Measured the pager " + selector.getMeasurePassCount() + " times",
+                selector.getMeasurePassCount() <= MAX_MEASURE_PASSES_PER_SWIPE);
+        assertEquals(ITEM_COUNT, mCounter.itemsSet);
+    }
+
+    @Test
+    public void swipeThroughAllPages() {
+        SwipeSelector selector = newSelector();
+        ViewPager pager = (ViewPager) selector.findViewById(R.id.swipeselector_layout_swipePager);
+
+        // The transitions are the most work there is per frame.
+        selector.setTransition(SwipeTransition.DEPTH);
+        selector.setItems(mItems);
+        TestUtils.layout(selector, WIDTH);
+
+        // Warm up on the first few pages, then start counting from scratch.
+        swipeToNext(selector, pager);
+        selector.selectItemAt(0, false);
+        TestUtils.layout(selector, WIDTH);
+        long bytesPerFrame = allocatedPerDragFrame(selector, pager);
+
+        long before = TestUtils.allocatedBytes();
+        int swipes = 0;
+        int frames = 0;
+
+        for (int i = 1; i < ITEM_COUNT; i++) {
+            selector.resetMeasureCounts();
+            frames += swipeToNext(selector, pager);
+            swipes++;
+
+            assertEquals("Didn't settle on " + i, i, selector.getSelectedItem().value);
+
+            // A page comes in ahead and one goes away behind, except
+            // right after the warm-up and at the very end.
+            if (i > 2 && i < ITEM_COUNT - 1) {
+                assertEquals("Pages created when swiping to " + i, 1, mCounter.pagesCreated);
+                assertEquals("Pages destroyed when swiping to " + i, 1, mCounter.pagesDestroyed);
+            }
+            assertTrue("Measured the pager " + selector.getMeasurePassCount()
+                            + " times when swiping to " + i,
+                    selector.getMeasurePassCount() <= MAX_MEASURE_PASSES_PER_SWIPE);
+        }
+
+        assertSame(mItems[ITEM_COUNT - 1], selector.getSelectedItem());
+        assertTrue("Inflated " + mCounter.pagesInflated + " pages over " + swipes + " swipes",
+                mCounter.pagesInflated <= MAX_PAGES_INFLATED);
+        assertViewLookups(swipes + " swipes");
+        assertAllocatedAtMost(swipes + " swipes",
+                TestUtils.allocatedBytes() - before - bytesPerFrame * frames,
+                MAX_BYTES_PER_SWIPE * swipes);
+    }
+
+    @Test
+    public void selectItemWithValue_storm() {
+        SwipeSelector selector = newSelector();
+        selector.setItems(mItems);
+        TestUtils.layout(selector, WIDTH);
+
+        Random random = new Random(42);
+        int[] values = new int[SELECTION_STORM];
+
+        for (int i = 0; i < SELECTION_STORM; i++) {
+            values[i] = random.nextInt(ITEM_COUNT);
+        }
+
+        // Selecting the item that's already selected goes through the same
+        // calls without changing any pages, which is what gets taken off.
+        selector.resetMeasureCounts();
+        selectStorm(selector, new int[SELECTION_STORM]);
+        long baseline = selectStorm(selector, new int[SELECTION_STORM]);
+
+        long allocated = selectStorm(selector, values);
+        assertAllocatedAtMost(SELECTION_STORM + " selections", allocated - baseline,
+                MAX_BYTES_PER_SELECTION * SELECTION_STORM);
+        assertEquals("Measured the pager before it was laid out",
+                0, selector.getMeasurePassCount());
+
+        TestUtils.layout(selector, WIDTH);
+
+        assertEquals(values[SELECTION_STORM - 1], selector.getSelectedItem().value);
+        assertTrue("Inflated " + mCounter.pagesInflated + " pages",
+                mCounter.pagesInflated <= MAX_PAGES_INFLATED_JUMPING);
+        assertViewLookups("Jumping around");
+        assertTrue("Measured the pager " + selector.getMeasurePassCount() + " times",
+                selector.getMeasurePassCount() <= MAX_MEASURE_PASSES_PER_SWIPE);
+    }
+
+    @Test
+    public void saveAndRestore() {
+        SwipeSelector original = newSelector();
+        original.setItems(mItems);
+        TestUtils.layout(original, WIDTH);
+        original.selectItemAt(ITEM_COUNT / 2, false);
+        TestUtils.layout(original, WIDTH);
+        Parcelable state = original.onSaveInstanceState();
+
+        mCounter = new Counter();
+        SwipeSelector restored = newSelector();
+        restored.setItems(mItems);
+        TestUtils.layout(restored, WIDTH);
+
+        final int[] selections = new int[1];
+        restored.setOnItemSelectedListener(new OnSwipeItemSelectedListener() {
+            @Override
+            public void onItemSelected(SwipeItem item) {
+                selections[0]++;
+            }
+        });
+
+        // Laying out again without anything changing is taken off, since
+        // restoring is followed by a layout.
+        TestUtils.layout(restored, WIDTH);
+        long before = TestUtils.allocatedBytes();
+        TestUtils.layout(restored, WIDTH);
+        long baseline = TestUtils.allocatedBytes() - before;
+
+        restored.resetMeasureCounts();
+        before = TestUtils.allocatedBytes();
+        restored.onRestoreInstanceState(state);
+        TestUtils.layout(restored, WIDTH);
+        assertAllocatedAtMost("Restoring", TestUtils.allocatedBytes() - before - baseline,
+                MAX_BYTES_RESTORE);
+
+        assertSame(mItems[ITEM_COUNT / 2], restored.getSelectedItem());
+        assertEquals("Restoring isn't a selection by the user", 0, selections[0]);
+        assertTrue("Inflated " + mCounter.pagesInflated + " pages",
+                mCounter.pagesInflated <= MAX_PAGES_INFLATED_JUMPING);
+        assertViewLookups("Restoring");
+        assertTrue("Measured the pager " + restored.getMeasurePassCount() + " times",
+                restored.getMeasurePassCount() <= MAX_MEASURE_PASSES_PER_SWIPE);
+    }
+
+    @Test
+    public void restore_ignoredWhenItemsChanged() {
+        SwipeSelector original = newSelector();
+        original.setItems(mItems);
+        TestUtils.layout(original, WIDTH);
+        original.selectItemAt(ITEM_COUNT / 2, false);
+        Parcelable state = original.onSaveInstanceState();
+
+        SwipeItem[] fewer = new SwipeItem[ITEM_COUNT - 1];
+        System.arraycopy(mItems, 0, fewer, 0, fewer.length);
+
+        SwipeSelector restored = newSelector();
+        restored.setItems(fewer);
+        TestUtils.layout(restored, WIDTH);
+        restored.onRestoreInstanceState(state);
+        TestUtils.layout(restored, WIDTH);
+
+        assertSame(fewer[0], restored.getSelectedItem());
+    }
+
+    private SwipeSelector newSelector() {
+        SwipeSelector selector = new SwipeSelector(mContext);
+        selector.setMetricsListener(mCounter);
+
+        // The selector finding its own children isn't what we're after.
+        CountingShadows.reset();
+        return selector;
+    }
+
+    /**
+     * Drags the pager three quarters of a page to the left and lets go,
+     * the way a finger would, so the indicator and the page transitions
+     * follow every frame. Nothing draws the pager here, so its settling
+     * scroll gets run frame by frame with computeScroll() instead.
+     *
+     * @return how many frames the swipe took.
+     */
+    private int swipeToNext(SwipeSelector selector, ViewPager pager) {
+        float step = pager.getWidth() * 0.75f / DRAG_FRAMES;
+        int settled = mCounter.swipesSettled;
+        int frames = DRAG_FRAMES;
+
+        pager.beginFakeDrag();
+
+        for (int frame = 0; frame < DRAG_FRAMES; frame++) {
+            SystemClock.sleep(FRAME_MILLIS);
+            pager.fakeDragBy(-step);
+        }
+
+        pager.endFakeDrag();
+
+        for (int frame = 0; frame < MAX_SETTLE_FRAMES && mCounter.swipesSettled == settled; frame++) {
+            SystemClock.sleep(FRAME_MILLIS);
+            pager.computeScroll();
+            frames++;
+        }
+
+        assertTrue("The swipe never settled", mCounter.swipesSettled > settled);
+        TestUtils.layout(selector, WIDTH);
+        return frames;
+    }
+
+    /**
+     * Drags the pager three quarters of a page to the left and back
+     * again, which scrolls, transforms the pages and moves the indicator
+     * every frame like a swipe does, but never needs another page.
+     *
+     * @return what a frame of that allocated, on average.
+     */
+    private long allocatedPerDragFrame(SwipeSelector selector, ViewPager pager) {
+        float step = pager.getWidth() * 0.75f / DRAG_FRAMES;
+
+        pager.beginFakeDrag();
+
+        // Let the JIT settle first.
+        dragThereAndBack(pager, step);
+
+        long before = TestUtils.allocatedBytes();
+        dragThereAndBack(pager, step);
+        long allocated = TestUtils.allocatedBytes() - before;
+
+        pager.endFakeDrag();
+        TestUtils.layout(selector, WIDTH);
+        return allocated / (2 * DRAG_FRAMES);
+    }
+
+    private static void dragThereAndBack(ViewPager pager, float step) {
+        for (int frame = 0; frame < 2 * DRAG_FRAMES; frame++) {
+            SystemClock.sleep(FRAME_MILLIS);
+            pager.fakeDragBy(frame < DRAG_FRAMES ? -step : step);
+        }
+    }
+
+    private static long allocatedSettingItems(SwipeSelector selector, SwipeItem[] items) {
+        long before = TestUtils.allocatedBytes();
+        selector.setItems(items);
+        return TestUtils.allocatedBytes() - before;
+    }
+
+    /**
+     * @return what selecting the items with the given values, one after
+     * the other, allocated.
+     */
+    private static long selectStorm(SwipeSelector selector, int[] values) {
+        long before = TestUtils.allocatedBytes();
+
+        for (int i = 0; i < values.length; i++) {
+            selector.selectItemWithValue(values[i], false);
+        }
+
+        return TestUtils.allocatedBytes() - before;
+    }
+
+    /**
+     * Every page looks up its views once when it's inflated, so anything
+     * over that means a view got looked up while binding or scrolling.
+     */
+    private void assertViewLookups(String what) {
+        int lookups = CountingShadows.getFindViewByIdCalls();
+
+        assertTrue(what + " looked up " + lookups + " views for "
+                        + mCounter.pagesInflated + " new pages",
+                lookups <= mCounter.pagesInflated * VIEW_LOOKUPS_PER_PAGE);
+    }
+
+    /**
+     * Skipped on JVMs that can't tell how much a thread allocated, in
+     * which case the allocated bytes don't mean anything either.
+     */
+    private static void assertAllocatedAtMost(String what, long allocated, long max) {
+        if (!TestUtils.countsAllocations()) {
+            return;
+        }
+
+        assertTrue(what + " allocated " + allocated + " bytes more than the same calls"
+                + " take without it, over the limit of " + max, allocated <= max);
+    }
+
+    /**
+     * Counts what the selector reports.
+     */
+    private static class Counter implements SwipeMetricsListener {
+        private int pagesInflated;
+        private int itemsSet;
+        private int swipesSettled;
+        private int pagesCreated;
+        private int pagesDestroyed;
+
+        @Override
+        public void onPageInflated(long durationNanos) {
+            pagesInflated++;
+        }
+
+        @Override
+        public void onPageBound(int position, long durationNanos) {
+        }
+
+        @Override
+        public void onPagerMeasured(long durationNanos) {
+        }
+
+        @Override
+        public void onItemsSet(int count, long durationNanos) {
+            itemsSet = count;
+        }
+
+        @Override
+        public void onIndicatorUpdated(long durationNanos) {
+        }
+
+        @Override
+        public void onSwipeSettled(int pagesCreated, int pagesDestroyed) {
+            swipesSettled++;
+            this.pagesCreated = pagesCreated;
+            this.pagesDestroyed = pagesDestroyed;
+        }
+    }
+}
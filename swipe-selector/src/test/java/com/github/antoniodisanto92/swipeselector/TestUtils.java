@@ -0,0 +1,76 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.view.View;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * What the tests that count allocations or lay out selectors share.
+ */
+class TestUtils {
+    private TestUtils() {
+    }
+
+    /**
+     * @return true if the JVM can tell how much a thread has allocated,
+     * which also turns the counting on. Without it, the allocation checks
+     * get skipped.
+     */
+    static boolean countsAllocations() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return true;
+    }
+
+    /**
+     * @return the bytes allocated on this thread so far, or 0 if
+     * {@link #countsAllocations()} is false.
+     */
+    static long allocatedBytes() {
+        if (!countsAllocations()) {
+            return 0;
+        }
+
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Measures and lays out the view the way a parent as wide as the given
+     * width, and as high as it wants, would.
+     */
+    static void layout(View view, int width) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+}
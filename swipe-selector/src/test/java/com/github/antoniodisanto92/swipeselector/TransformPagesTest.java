@@ -0,0 +1,173 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.ViewPager;
+import android.support.v7.view.ContextThemeWrapper;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Checks that SwipeAdapter.transformPages(), which runs on every scroll
+ * frame, doesn't allocate anything itself. Robolectric's shadows can
+ * allocate whenever a view gets called, so what the same view calls cost
+ * when the test makes them is taken off first.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class TransformPagesTest {
+    private static final int ITEM_COUNT = 10;
+    private static final int WIDTH = 1080;
+
+    // About two and a half minutes of swiping at 60fps.
+    private static final int FRAMES = 10000;
+
+    private ViewPager mPager;
+    private SwipeAdapter mAdapter;
+
+    @Before
+    public void setUp() {
+        assumeTrue(TestUtils.countsAllocations());
+
+        SwipeSelector selector = new SwipeSelector(
+                new ContextThemeWrapper(RuntimeEnvironment.application, R.style.Theme_AppCompat_Light));
+        SwipeItem[] items = new SwipeItem[ITEM_COUNT];
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items[i] = new SwipeItem(i, "Item " + i, "Description " + i);
+        }
+
+        selector.setItems(items);
+        TestUtils.layout(selector, WIDTH);
+        selector.selectItemAt(ITEM_COUNT / 2, false);
+        TestUtils.layout(selector, WIDTH);
+
+        mPager = (ViewPager) selector.findViewById(R.id.swipeselector_layout_swipePager);
+        mAdapter = (SwipeAdapter) mPager.getAdapter();
+    }
+
+    @Test
+    public void scrollFrames_transformPagesWithoutAllocating() {
+        long viewCalls = allocatedTouchingPages();
+
+        for (SwipeTransition transition : SwipeTransition.values()) {
+            if (transition == SwipeTransition.NONE) {
+                continue;
+            }
+
+            long allocated = allocatedWhileScrolling(transition) - viewCalls;
+
+            // As in PageTransformTest, a single object per frame would add
+            // up to way more than a byte per frame.
+            assertTrue(transition + " allocated " + allocated + " bytes over " + FRAMES
+                    + " frames, on top of the " + viewCalls + " bytes the same scroll took"
+                    + " without transformPages()", allocated < FRAMES);
+        }
+    }
+
+    /**
+     * @return what scrolling the pager back and forth and telling the
+     * adapter about every frame allocated, like the pager itself would.
+     */
+    private long allocatedWhileScrolling(SwipeTransition transition) {
+        mAdapter.setTransition(transition);
+
+        // Let the JIT and the class loading settle first.
+        scroll(true);
+
+        long before = TestUtils.allocatedBytes();
+        scroll(true);
+        return TestUtils.allocatedBytes() - before;
+    }
+
+    /**
+     * @return what the same scroll allocated without a transition, with
+     * the test making the view calls of transformPages() itself.
+     */
+    private long allocatedTouchingPages() {
+        mAdapter.setTransition(SwipeTransition.NONE);
+        scroll(false);
+
+        long before = TestUtils.allocatedBytes();
+        scroll(false);
+        return TestUtils.allocatedBytes() - before;
+    }
+
+    /**
+     * Swipes back and forth between the pages around the selected one,
+     * either telling the adapter about each frame, or touching the pages
+     * the way transformPages() does on top of that.
+     */
+    private float scroll(boolean throughAdapter) {
+        int width = mPager.getMeasuredWidth();
+        int first = ITEM_COUNT / 2 - 1;
+        float checksum = 0;
+
+        for (int frame = 0; frame < FRAMES; frame++) {
+            float scroll = (frame % 120) / 60f;
+
+            if ((frame / 120) % 2 == 1) {
+                scroll = 2 - scroll;
+            }
+
+            int position = first + (int) scroll;
+            float offset = scroll - (int) scroll;
+            int offsetPixels = (int) (offset * width);
+
+            mPager.scrollTo(position * width + offsetPixels, 0);
+            mAdapter.onPageScrolled(position, offset, offsetPixels);
+
+            if (!throughAdapter) {
+                checksum += touchPages();
+            }
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Makes every view call transformPages() makes, with made up values.
+     */
+    private float touchPages() {
+        float checksum = 0;
+
+        for (int i = 0; i < mPager.getChildCount(); i++) {
+            View page = mPager.getChildAt(i);
+            int pageWidth = mPager.getMeasuredWidth() - mPager.getPaddingLeft() - mPager.getPaddingRight();
+            float position = (float) (page.getLeft() - mPager.getScrollX() - mPager.getPaddingLeft()) / pageWidth;
+
+            ViewCompat.setAlpha(page, 1 - Math.min(Math.abs(position), 1));
+            ViewCompat.setTranslationX(page, -position * page.getWidth());
+            ViewCompat.setScaleX(page, 1);
+            ViewCompat.setScaleY(page, 1);
+            checksum += position;
+        }
+
+        return checksum;
+    }
+}
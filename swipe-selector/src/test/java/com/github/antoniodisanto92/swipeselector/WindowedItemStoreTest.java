@@ -0,0 +1,168 @@
+package com.github.antoniodisanto92.swipeselector;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class WindowedItemStoreTest {
+    private static final int ITEM_COUNT = 1000;
+    private static final int FAR_AWAY = 500;
+
+    // A source that delivers every block before loadItems() returns.
+    private static final SwipeDataSource SYNCHRONOUS = new SwipeDataSource() {
+        @Override
+        public int getCount() {
+            return ITEM_COUNT;
+        }
+
+        @Override
+        public void loadItems(int startPosition, int count, Callback callback) {
+            SwipeItem[] items = new SwipeItem[count];
+
+            for (int i = 0; i < count; i++) {
+                items[i] = new SwipeItem(startPosition + i, "Item " + (startPosition + i), null);
+            }
+
+            callback.onItemsLoaded(startPosition, items);
+        }
+    };
+
+    private ArrayList<Integer> mLoadedStarts;
+    private WindowedItemStore mStore;
+
+    @Before
+    public void setUp() {
+        mLoadedStarts = new ArrayList<>();
+        mStore = new WindowedItemStore(SYNCHRONOUS, new ItemStore.Listener() {
+            @Override
+            public void onItemsLoaded(int startPosition, int count) {
+                mLoadedStarts.add(startPosition);
+            }
+        });
+
+        mStore.onPositionChanged(0);
+        mLoadedStarts.clear();
+    }
+
+    @Test
+    public void farJump_keepsTheBlockThePageAskedFor() {
+        // The pager instantiates the page it jumps to first...
+        SwipeItem item = mStore.get(FAR_AWAY);
+        assertNotNull(item);
+        assertEquals(FAR_AWAY, item.value);
+
+        // ...and only then tells the store about the new position.
+        mStore.onPositionChanged(FAR_AWAY);
+
+        assertNotNull(mStore.get(FAR_AWAY));
+        assertEquals(FAR_AWAY, mStore.indexOfValue(FAR_AWAY));
+    }
+
+    @Test
+    public void farJump_announcesTheBlocksNobodyWaitedFor() {
+        int block = FAR_AWAY / WindowedItemStore.BLOCK_SIZE;
+
+        mStore.get(FAR_AWAY);
+        assertTrue("get() reads its own block, nobody else needs to hear about it",
+                mLoadedStarts.isEmpty());
+
+        mStore.onPositionChanged(FAR_AWAY);
+
+        // The neighbouring blocks got loaded on the way, so their pages
+        // need to hear about it, but the block get() read needs no reload.
+        assertTrue(mLoadedStarts.contains((block - 1) * WindowedItemStore.BLOCK_SIZE));
+        assertTrue(mLoadedStarts.contains((block + 1) * WindowedItemStore.BLOCK_SIZE));
+        assertEquals(2, mLoadedStarts.size());
+    }
+
+    @Test
+    public void farJump_evictsTheOldBlocks() {
+        mStore.get(FAR_AWAY);
+        mStore.onPositionChanged(FAR_AWAY);
+
+        assertEquals(-1, mStore.indexOfValue(0));
+        assertEquals(3 * WindowedItemStore.BLOCK_SIZE, mStore.getLoadedItems().size());
+    }
+
+    @Test
+    public void eviction_leavesDuplicateValuesOfOtherBlocksFindable() {
+        final int period = 2 * WindowedItemStore.BLOCK_SIZE;
+
+        // Every block has the same values as the one two blocks further.
+        mStore = new WindowedItemStore(new SwipeDataSource() {
+            @Override
+            public int getCount() {
+                return ITEM_COUNT;
+            }
+
+            @Override
+            public void loadItems(int startPosition, int count, Callback callback) {
+                SwipeItem[] items = new SwipeItem[count];
+
+                for (int i = 0; i < count; i++) {
+                    items[i] = new SwipeItem((startPosition + i) % period, "Item", null);
+                }
+
+                callback.onItemsLoaded(startPosition, items);
+            }
+        }, new ItemStore.Listener() {
+            @Override
+            public void onItemsLoaded(int startPosition, int count) {
+            }
+        });
+
+        mStore.onPositionChanged(0);
+        mStore.onPositionChanged(3 * WindowedItemStore.BLOCK_SIZE);
+
+        // The first block is gone, but the third one has its values.
+        assertEquals(period, mStore.indexOfValue(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shortBlock_failsRightAway() {
+        mStore = new WindowedItemStore(new SwipeDataSource() {
+            @Override
+            public int getCount() {
+                return ITEM_COUNT;
+            }
+
+            @Override
+            public void loadItems(int startPosition, int count, Callback callback) {
+                callback.onItemsLoaded(startPosition, new SwipeItem[count - 1]);
+            }
+        }, new ItemStore.Listener() {
+            @Override
+            public void onItemsLoaded(int startPosition, int count) {
+            }
+        });
+
+        mStore.get(WindowedItemStore.BLOCK_SIZE - 1);
+    }
+}